@@ -0,0 +1,144 @@
+package org.watson.demos.advice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.media.Schema;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ErrorProperties.IncludeAttribute;
+import org.springframework.boot.web.error.ErrorAttributeOptions;
+import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes an error response body directly, for errors resolved without an error dispatch. The body has the attributes
+ * {@link ErrorAttributes} gives the error controller, limited to the fields of the {@code errorSchema} documented by
+ * {@link org.watson.demos.configurations.SpringDocConfiguration}, so it matches the dispatched error response.
+ * Without an {@code errorSchema}, every attribute is written. The body is only JSON, so callers check {@link #acceptsJson}
+ * first and leave other media types, ie CBOR or HTML, to the error dispatch.
+ */
+@ConditionalOnWebApplication
+@Component
+public class ErrorResponseWriter {
+    private final ErrorAttributes errorAttributes;
+    private final ObjectMapper objectMapper;
+    @Nullable
+    private final Set<String> fields;
+    private final boolean includeException;
+    private final IncludeAttribute includeMessage;
+    private final IncludeAttribute includeTrace;
+    private final IncludeAttribute includeErrors;
+
+    public ErrorResponseWriter(final ErrorAttributes errorAttributes,
+                               final ObjectMapper objectMapper,
+                               final ObjectProvider<Schema<?>> errorSchema,
+                               @Value("${server.error.include-exception:false}") final boolean includeException,
+                               @Value("${server.error.include-message:never}") final IncludeAttribute includeMessage,
+                               @Value("${server.error.include-stacktrace:never}") final IncludeAttribute includeTrace,
+                               @Value("${server.error.include-binding-errors:never}") final IncludeAttribute includeErrors) {
+        this.errorAttributes = errorAttributes;
+        this.objectMapper = objectMapper;
+        final Schema<?> schema = errorSchema.getIfAvailable();
+        this.fields = schema == null || schema.getProperties() == null ? null : Set.copyOf(schema.getProperties().keySet());
+        this.includeException = includeException;
+        this.includeMessage = includeMessage;
+        this.includeTrace = includeTrace;
+        this.includeErrors = includeErrors;
+    }
+
+    /**
+     * Sets the status and writes the error body of the exception the request holds, as {@value MediaType#APPLICATION_JSON_VALUE}.
+     */
+    public void write(@NonNull final HttpServletRequest request, @NonNull final HttpServletResponse response, final int status) throws IOException {
+        request.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, status);
+        request.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, request.getRequestURI());
+        try {
+            final Map<String, Object> attributes = errorAttributes.getErrorAttributes(new ServletWebRequest(request), options(request));
+            response.setStatus(status);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), toBody(attributes));
+        } finally {
+            request.removeAttribute(RequestDispatcher.ERROR_STATUS_CODE);
+            request.removeAttribute(RequestDispatcher.ERROR_REQUEST_URI);
+        }
+    }
+
+    /**
+     * Browsers list {@value MediaType#TEXT_HTML_VALUE} explicitly and get the error view instead. Other requests accept
+     * JSON when they list a JSON compatible type or a wildcard, or send no {@value HttpHeaders#ACCEPT} at all.
+     */
+    public static boolean acceptsJson(@NonNull final HttpServletRequest request) {
+        final String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (!StringUtils.hasText(accept)) {
+            return true;
+        }
+        try {
+            final List<MediaType> types = MediaType.parseMediaTypes(accept);
+            return types.stream().noneMatch(m -> !m.isWildcardType() && m.isCompatibleWith(MediaType.TEXT_HTML) && m.getQualityValue() > 0)
+                    && types.stream().anyMatch(m -> m.isCompatibleWith(MediaType.APPLICATION_JSON) && m.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private Map<String, Object> toBody(final Map<String, Object> attributes) {
+        if (fields == null) {
+            return attributes;
+        }
+        final Map<String, Object> body = new LinkedHashMap<>(attributes.size() * 2);
+        attributes.forEach((field, value) -> {
+            if (fields.contains(field)) {
+                body.put(field, value);
+            }
+        });
+        return body;
+    }
+
+    /**
+     * Same options as {@link org.springframework.boot.autoconfigure.web.servlet.error.BasicErrorController}.
+     */
+    private ErrorAttributeOptions options(final HttpServletRequest request) {
+        ErrorAttributeOptions options = ErrorAttributeOptions.defaults();
+        if (includeException) {
+            options = options.including(ErrorAttributeOptions.Include.EXCEPTION);
+        }
+        if (isIncluded(includeMessage, request, "message")) {
+            options = options.including(ErrorAttributeOptions.Include.MESSAGE);
+        }
+        if (isIncluded(includeTrace, request, "trace")) {
+            options = options.including(ErrorAttributeOptions.Include.STACK_TRACE);
+        }
+        if (isIncluded(includeErrors, request, "errors")) {
+            options = options.including(ErrorAttributeOptions.Include.BINDING_ERRORS);
+        }
+        return options;
+    }
+
+    private static boolean isIncluded(final IncludeAttribute include, final HttpServletRequest request, final String parameter) {
+        switch (include) {
+            case ALWAYS:
+                return true;
+            case ON_PARAM:
+                final String value = request.getParameter(parameter);
+                return value != null && !"false".equalsIgnoreCase(value);
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.watson.demos.advice;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestController;
+import org.watson.demos.exceptions.ExpectedStatusException;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Sends an {@link ExpectedStatusException} as its status and reason, as
+ * {@link org.springframework.web.servlet.mvc.annotation.ResponseStatusExceptionResolver} does for a
+ * {@link org.springframework.web.server.ResponseStatusException}, so the error dispatch renders the same body.
+ */
+@ConditionalOnWebApplication
+@ControllerAdvice(annotations = RestController.class)
+public class ExpectedStatusExceptionAdvice {
+
+    @ExceptionHandler(ExpectedStatusException.class)
+    public void handleExpectedStatus(@NonNull final ExpectedStatusException exception, @NonNull final HttpServletResponse response) throws IOException {
+        response.sendError(exception.getStatus().value(), exception.getReason());
+    }
+}
@@ -22,10 +22,9 @@ import org.watson.demos.models.Identifiable;
 
 import java.net.URI;
 import java.util.Collection;
-import java.util.List;
-import java.util.Objects;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Adds id location data to the response header.<p/>
@@ -38,6 +37,10 @@ import java.util.stream.Collectors;
  * <li>{@value HttpHeaders#CONTENT_LOCATION} header is set with a <strong>relative URI</strong> when multiple items are returned. (See <a href=https://www.rfc-editor.org/rfc/rfc2616#section-14.14>RFC 2616, Section 14.14</a>)</li>
  * <li>{@value HttpHeaders#LOCATION} header is set with an <strong>absolute URI</strong> when a single item is returned. (See <a href=https://www.rfc-editor.org/rfc/rfc2616#section-14.30>RFC 2616, Section 14.30</a>)</li>
  * </ul>
+ * With {@code identifiable.location.compact.enabled=true}, multiple items get a single {@value HttpHeaders#CONTENT_LOCATION}
+ * pointing to the batch of created ids instead, {@code /some-content?id={id},{id}}. The query parameter is set by
+ * optional {@code identifiable.location.compact.parameter=}, defaults to "id". When the ids do not all fit in the header,
+ * no {@value HttpHeaders#CONTENT_LOCATION} is set, as a partial list would name a different batch than was created.
  *
  * @see <a href=https://www.rfc-editor.org/rfc/rfc2616#section-14.14>RFC 2616, Section 14.14</a>
  * @see <a href=https://www.rfc-editor.org/rfc/rfc2616#section-14.30>RFC 2616, Section 14.30</a>
@@ -49,13 +52,24 @@ public class LocationResponseBodyAdvice implements ResponseBodyAdvice<Collection
 
     private final String prefix;
     private final long maxHeaderCount;
+    private final boolean compact;
+    private final String compactParameter;
+    private final int idCharacterLength;
+    private final long maxCompactCount;
 
     public LocationResponseBodyAdvice(@Value("${server.max-http-header-size:8KB}") final DataSize maxHeaderSize,
                                       @Value("${identifiable.location.header-reserve-size:3KB}") final DataSize headerReserveSize,
                                       @Value("${identifiable.location.path.prefix:/}") final String prefix,
-                                      @Value("${identifiable.location.id.character.length:36}") final int idCharacterLength) {
+                                      @Value("${identifiable.location.id.character.length:36}") final int idCharacterLength,
+                                      @Value("${identifiable.location.compact.enabled:false}") final boolean compact,
+                                      @Value("${identifiable.location.compact.parameter:id}") final String compactParameter) {
+        final long availableBytes = maxHeaderSize.toBytes() - headerReserveSize.toBytes();
         this.prefix = prefix;
-        this.maxHeaderCount = calculateMaxHeaderCount(maxHeaderSize.toBytes() - headerReserveSize.toBytes(), prefix.length() + idCharacterLength);
+        this.maxHeaderCount = calculateMaxHeaderCount(availableBytes, prefix.length() + (long) idCharacterLength);
+        this.compact = compact;
+        this.compactParameter = compactParameter;
+        this.idCharacterLength = Math.max(0, idCharacterLength);
+        this.maxCompactCount = calculateMaxHeaderCount(availableBytes - compactParameter.length() - 2, idCharacterLength + 1L);
     }
 
     @Override
@@ -67,37 +81,62 @@ public class LocationResponseBodyAdvice implements ResponseBodyAdvice<Collection
     public Collection<? extends Identifiable<?>> beforeBodyWrite(@Nullable final Collection<? extends Identifiable<?>> body, @Nullable final MethodParameter ignored1, @Nullable final MediaType ignored2, @Nullable final Class<? extends HttpMessageConverter<?>> ignored3,
                                                                  @NonNull final ServerHttpRequest request, @NonNull final ServerHttpResponse response) {
         if (body != null) {
-            final List<String> relativePaths = body.stream()
-                    .map(Identifiable::getId)
-                    .map(this::toRelativeLocationPath)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toUnmodifiableList());
-
-            if (relativePaths.size() == 1) {
-                log.debug("Setting {} header.", HttpHeaders.LOCATION);
-                relativePaths.stream()
-                        .findFirst()
-                        .map(relative -> toAbsoluteLocationUri(relative, request.getURI()))
-                        .ifPresent(response.getHeaders()::setLocation);
-            } else {
-                log.debug("Setting {} header.", HttpHeaders.CONTENT_LOCATION);
-                relativePaths.stream()
-                        .limit(maxHeaderCount)
-                        .forEach(relative -> response.getHeaders().add(HttpHeaders.CONTENT_LOCATION, relative));
+            final Ids ids = new Ids(body.iterator());
+            if (ids.hasNext()) {
+                final Object first = ids.next();
+                if (!ids.hasNext()) {
+                    log.debug("Setting {} header.", HttpHeaders.LOCATION);
+                    response.getHeaders().setLocation(toAbsoluteLocationUri(toRelativeLocationPath(first), request.getURI()));
+                } else if (compact) {
+                    log.debug("Setting compact {} header.", HttpHeaders.CONTENT_LOCATION);
+                    setCompactContentLocation(first, ids, request.getURI(), response.getHeaders());
+                } else {
+                    log.debug("Setting {} header.", HttpHeaders.CONTENT_LOCATION);
+                    addContentLocations(first, ids, response.getHeaders());
+                }
             }
         }
         return body;
     }
 
-    private URI toAbsoluteLocationUri(final String relativePath, @NonNull final URI requestUri) {
-        return Optional.ofNullable(relativePath)
-                .map(relative -> requestUri.getPath() + relative)
-                .map(requestUri::resolve)
-                .orElse(null);
+    private void addContentLocations(final Object first, final Iterator<Object> ids, final HttpHeaders headers) {
+        if (maxHeaderCount > 0) {
+            headers.add(HttpHeaders.CONTENT_LOCATION, toRelativeLocationPath(first));
+        }
+        for (long i = 1; i < maxHeaderCount && ids.hasNext(); i++) {
+            headers.add(HttpHeaders.CONTENT_LOCATION, toRelativeLocationPath(ids.next()));
+        }
+    }
+
+    private void setCompactContentLocation(final Object first, final Iterator<Object> ids, @NonNull final URI requestUri, final HttpHeaders headers) {
+        if (maxCompactCount > 0) {
+            final StringBuilder location = new StringBuilder(compactBuilderCapacity(requestUri))
+                    .append(requestUri.getRawPath())
+                    .append('?')
+                    .append(compactParameter)
+                    .append('=')
+                    .append(first);
+            for (long i = 1; i < maxCompactCount && ids.hasNext(); i++) {
+                location.append(',').append(ids.next());
+            }
+            if (ids.hasNext()) {
+                log.debug("Skipping compact {} header, ids exceed the header size. maxCompactCount={}", HttpHeaders.CONTENT_LOCATION, maxCompactCount);
+                return;
+            }
+            headers.set(HttpHeaders.CONTENT_LOCATION, location.toString());
+        }
+    }
+
+    private int compactBuilderCapacity(@NonNull final URI requestUri) {
+        return (int) Math.min(requestUri.getRawPath().length() + compactParameter.length() + 2 + maxCompactCount * (idCharacterLength + 1L), 16 * 1024);
+    }
+
+    private URI toAbsoluteLocationUri(@NonNull final String relativePath, @NonNull final URI requestUri) {
+        return requestUri.resolve(requestUri.getPath() + relativePath);
     }
 
-    private String toRelativeLocationPath(@Nullable final Object id) {
-        return id == null ? null : prefix + id;
+    private String toRelativeLocationPath(@NonNull final Object id) {
+        return prefix + id;
     }
 
     private boolean supportsResponseStatus(@NonNull final MethodParameter returnType) {
@@ -121,4 +160,35 @@ public class LocationResponseBodyAdvice implements ResponseBodyAdvice<Collection
     private long calculateMaxHeaderCount(final long availableBytes, final long bytesPerIdentifier) {
         return availableBytes < bytesPerIdentifier || bytesPerIdentifier < 1 ? 0 : Math.min(availableBytes / bytesPerIdentifier, Integer.MAX_VALUE);
     }
+
+    /**
+     * The non-null ids of a body, read one at a time so no list of ids or paths is built.
+     */
+    private static final class Ids implements Iterator<Object> {
+        private final Iterator<? extends Identifiable<?>> items;
+        private Object next;
+
+        private Ids(final Iterator<? extends Identifiable<?>> items) {
+            this.items = items;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && items.hasNext()) {
+                final Identifiable<?> item = items.next();
+                next = item == null ? null : item.getId();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Object id = next;
+            next = null;
+            return id;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package org.watson.demos.advice;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -19,9 +20,14 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Extends DefaultHandlerExceptionResolver to unwrap Exceptions and associate Exceptions with Error Codes.
+ * Both settings match an exception's class or its closest configured superclass. Each exception class is resolved once,
+ * then read from a {@link ClassValue}.<p/>
+ * Mapped codes are written by the {@link ErrorResponseWriter} for JSON clients, without an error dispatch. Requests that
+ * accept HTML or another type, ie CBOR, still get the error dispatch, which negotiates the body.
  *
  * <li>[Optional] {@code server.error.unwrapped-exceptions=full.path.to.Exception,full.path.to.OtherException}</li>
  * <li>[Optional] {@code server.error.exception-codes={"full.path.to.Exception": 400, "full.path.to.OtherException": 404}}</li>
@@ -37,13 +43,32 @@ public class UnwrappedExceptionResolver extends DefaultHandlerExceptionResolver
             org.springframework.boot.web.servlet.error.DefaultErrorAttributes.class.getName() + ".ERROR"
     );
 
-    private final Set<Class<? extends Throwable>> unwrappedExceptions;
-    private final Map<Class<? extends Throwable>, Integer> exceptionErrorCodes;
+    private final ClassValue<Boolean> unwrappedExceptions;
+    private final ClassValue<Optional<Integer>> exceptionErrorCodes;
+    @Nullable
+    private final ErrorResponseWriter errorResponseWriter;
 
+    /**
+     * @param errorResponseWriter [Optional] Without it, every mapped error is sent through the error dispatch.
+     */
     public UnwrappedExceptionResolver(@Value("${server.error.unwrapped-exceptions}") final Optional<Set<Class<? extends Throwable>>> unwrappedExceptions,
-                                      @Value("#{${server.error.exception-codes}}") final Optional<Map<Class<? extends Throwable>, Integer>> exceptionErrorCodes) {
-        this.unwrappedExceptions = unwrappedExceptions.orElseGet(Set::of);
-        this.exceptionErrorCodes = exceptionErrorCodes.orElseGet(Map::of);
+                                      @Value("#{${server.error.exception-codes}}") final Optional<Map<Class<? extends Throwable>, Integer>> exceptionErrorCodes,
+                                      @Autowired(required = false) final Optional<ErrorResponseWriter> errorResponseWriter) {
+        final Set<Class<? extends Throwable>> unwrapped = Set.copyOf(unwrappedExceptions.orElseGet(Set::of));
+        final Map<Class<? extends Throwable>, Integer> codes = Map.copyOf(exceptionErrorCodes.orElseGet(Map::of));
+        this.unwrappedExceptions = new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(@NonNull final Class<?> type) {
+                return findClosest(type, unwrapped::contains) != null;
+            }
+        };
+        this.exceptionErrorCodes = new ClassValue<>() {
+            @Override
+            protected Optional<Integer> computeValue(@NonNull final Class<?> type) {
+                return Optional.ofNullable(findClosest(type, codes::containsKey)).map(codes::get);
+            }
+        };
+        this.errorResponseWriter = errorResponseWriter.orElse(null);
         setOrder(Ordered.LOWEST_PRECEDENCE);
         setWarnLogCategory(getClass().getName());
     }
@@ -65,6 +90,11 @@ public class UnwrappedExceptionResolver extends DefaultHandlerExceptionResolver
         final Optional<Integer> code = findHttpStatusCode(exception);
         if (code.isPresent()) {
             try {
+                if (errorResponseWriter != null && ErrorResponseWriter.acceptsJson(request)) {
+                    errorResponseWriter.write(request, response, code.get());
+                    log.debug("Wrote error response. {}", code);
+                    return new ModelAndView();
+                }
                 response.sendError(code.get());
                 log.debug("Send error code. {}", code);
                 return new ModelAndView("error");
@@ -76,16 +106,26 @@ public class UnwrappedExceptionResolver extends DefaultHandlerExceptionResolver
     }
 
     private Optional<Integer> findHttpStatusCode(final Throwable throwable) {
-        return exceptionErrorCodes.entrySet().stream()
-                .filter(e -> e.getKey().isAssignableFrom(throwable.getClass()))
-                .map(Map.Entry::getValue)
-                .findFirst();
+        return exceptionErrorCodes.get(throwable.getClass());
+    }
+
+    /**
+     * @return {@code type} or its closest superclass that matches, {@code null} if none do.
+     */
+    @Nullable
+    private static Class<?> findClosest(@NonNull final Class<?> type, @NonNull final Predicate<Class<?>> matches) {
+        for (Class<?> candidate = type; candidate != null; candidate = candidate.getSuperclass()) {
+            if (matches.test(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
     }
 
     @NonNull
     private Exception unwrap(@Nullable final Throwable original) {
         Throwable unwrapped = null;
-        if (original != null && unwrappedExceptions.contains(original.getClass())) {
+        if (original != null && unwrappedExceptions.get(original.getClass())) {
             if (original instanceof TransactionSystemException) {
                 unwrapped = unwrap(((TransactionSystemException) original).getOriginalException());
             } else {
@@ -19,10 +19,6 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 import org.watson.demos.converters.UnwrappedPageHttpMessageConverter;
 
 import java.net.URI;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
  * Adds {@link Page} data to the response header to allow the {@link Page} body to be unwrapped without losing any
@@ -46,12 +42,15 @@ import java.util.regex.Pattern;
 @ControllerAdvice(annotations = RestController.class)
 public class UnwrappedPageResponseBodyAdvice implements ResponseBodyAdvice<Page<?>> {
     private static final String DEFAULT_PAGE_PREFIX = "Page-";
-    private static final String PAGE_NUMBER_REPLACE_TOKEN = "##PAGE_NUMBER##";
-    private static final Pattern PAGE_NUMBER_REPLACE_PATTERN = Pattern.compile(PAGE_NUMBER_REPLACE_TOKEN, Pattern.LITERAL);
+    private static final String REL_SELF = ">; rel=\"self\"";
+    private static final String REL_FIRST = ">; rel=\"first\"";
+    private static final String REL_NEXT = ">; rel=\"next\"";
+    private static final String REL_PREV = ">; rel=\"prev\"";
+    private static final String REL_LAST = ">; rel=\"last\"";
+    /** '<', the longest rel and a ten digit page number. */
+    private static final int LINK_OVERHEAD = 1 + REL_FIRST.length() + 10;
 
     private final String pageParameter;
-    private final Pattern pageQueryPattern;
-    private final String pageQueryReplaceToken;
     private final int indexOffset;
     private final String pageSizeHeader;
     private final String pageSortHeader;
@@ -64,8 +63,6 @@ public class UnwrappedPageResponseBodyAdvice implements ResponseBodyAdvice<Page<
         final boolean isOneIndexed = webProperties.getPageable().isOneIndexedParameters();
 
         this.pageParameter = webProperties.getPageable().getPageParameter() + "=";
-        this.pageQueryPattern = Pattern.compile(pageParameter + "[^&]*");
-        this.pageQueryReplaceToken = pageParameter + PAGE_NUMBER_REPLACE_TOKEN;
         this.indexOffset = isOneIndexed ? 1 : 0;
 
         this.pageSizeHeader = pageHeaderPrefix + "Size";
@@ -84,54 +81,88 @@ public class UnwrappedPageResponseBodyAdvice implements ResponseBodyAdvice<Page<
     public Page<?> beforeBodyWrite(final Page<?> page, @Nullable final MethodParameter ignored1, @Nullable final MediaType ignored2, @Nullable final Class<? extends HttpMessageConverter<?>> ignored3,
                                    @NonNull final ServerHttpRequest request, @NonNull final ServerHttpResponse response) {
         if (page != null) { // find-bugs null-check
-            response.getHeaders().setAll(buildPageHeaders(page));
-            response.getHeaders().addAll(HttpHeaders.LINK, buildLinkHeaders(request.getURI(), page));
+            final HttpHeaders headers = response.getHeaders();
+            setPageHeaders(headers, page);
+            addLinkHeaders(headers, linkTemplate(request.getURI()), page);
         }
         return page;
     }
 
-    private Map<String, String> buildPageHeaders(final Page<?> page) {
-        return Map.of(
-                pageSizeHeader, String.valueOf(page.getSize()),
-                pageSortHeader, String.valueOf(page.getSort()),
-                pageIndexHeader, String.valueOf(page.getNumber() + indexOffset),
-                pageTotalHeader, String.valueOf(page.getTotalPages()),
-                pageElementsHeader, String.valueOf(page.getTotalElements())
-        );
+    private void setPageHeaders(final HttpHeaders headers, final Page<?> page) {
+        headers.set(pageSizeHeader, Integer.toString(page.getSize()));
+        headers.set(pageSortHeader, String.valueOf(page.getSort()));
+        headers.set(pageIndexHeader, Integer.toString(page.getNumber() + indexOffset));
+        headers.set(pageTotalHeader, Integer.toString(page.getTotalPages()));
+        headers.set(pageElementsHeader, Long.toString(page.getTotalElements()));
     }
 
-    private List<String> buildLinkHeaders(final URI uri, final Page<?> page) {
-        final String uriString = generateTokenizedPageUri(uri);
-        final List<String> links = new ArrayList<>();
-
-        links.add(buildLinkHeader(uriString, page.getNumber() + indexOffset, "self"));
+    private void addLinkHeaders(final HttpHeaders headers, final LinkTemplate template, final Page<?> page) {
+        headers.add(HttpHeaders.LINK, template.link(page.getNumber() + indexOffset, REL_SELF));
         if (!page.isFirst()) {
-            links.add(buildLinkHeader(uriString, indexOffset, "first"));
+            headers.add(HttpHeaders.LINK, template.link(indexOffset, REL_FIRST));
         }
         if (page.hasNext()) {
-            links.add(buildLinkHeader(uriString, page.getNumber() + 1 + indexOffset, "next"));
+            headers.add(HttpHeaders.LINK, template.link(page.getNumber() + 1 + indexOffset, REL_NEXT));
         }
         if (page.hasPrevious()) {
-            links.add(buildLinkHeader(uriString, page.getNumber() - 1 + indexOffset, "prev"));
+            headers.add(HttpHeaders.LINK, template.link(page.getNumber() - 1 + indexOffset, REL_PREV));
         }
         if (!page.isLast()) {
-            links.add(buildLinkHeader(uriString, page.getTotalPages() - 1 + indexOffset, "last"));
+            headers.add(HttpHeaders.LINK, template.link(page.getTotalPages() - 1 + indexOffset, REL_LAST));
         }
-        return links;
     }
 
-    private String generateTokenizedPageUri(final URI uri) {
+    /**
+     * Splits the request URI around the page parameter's value, or where the page parameter will be appended.
+     */
+    private LinkTemplate linkTemplate(final URI uri) {
         final String uriString = uri.toString();
-        if (!uriString.contains("?")) { // No Query Parameters, add page token first
-            return uriString + "?" + pageQueryReplaceToken;
-        } else if (uri.getQuery().contains(pageParameter)) { // Replace page=* query parameter with page token
-            return pageQueryPattern.matcher(uriString).replaceFirst(pageQueryReplaceToken);
-        } else { // No Page Parameter, add page token last
-            return uriString + "&" + pageQueryReplaceToken;
+        final int query = uriString.indexOf('?');
+        if (query < 0) { // No Query Parameters, add page parameter first
+            return new LinkTemplate(uriString + '?' + pageParameter, "");
+        }
+        final int parameter = indexOfPageParameter(uriString, query);
+        if (parameter < 0) { // No Page Parameter, add page parameter last
+            return new LinkTemplate(uriString + '&' + pageParameter, "");
+        }
+        final int valueStart = parameter + pageParameter.length();
+        final int valueEnd = uriString.indexOf('&', valueStart);
+        return new LinkTemplate(uriString.substring(0, valueStart), valueEnd < 0 ? "" : uriString.substring(valueEnd));
+    }
+
+    private int indexOfPageParameter(final String uriString, final int query) {
+        for (int i = uriString.indexOf(pageParameter, query + 1); i >= 0; i = uriString.indexOf(pageParameter, i + 1)) {
+            final char previous = uriString.charAt(i - 1);
+            if (previous == '?' || previous == '&') {
+                return i;
+            }
         }
+        return -1;
     }
 
-    private String buildLinkHeader(final String uri, final int pageNumber, final String rel) {
-        return "<" + PAGE_NUMBER_REPLACE_PATTERN.matcher(uri).replaceFirst(String.valueOf(pageNumber)) + ">; rel=\"" + rel + "\"";
+    /**
+     * One request's URI, split into the text before and after the page number. Every link of the response is built
+     * in the same {@link StringBuilder}.
+     */
+    private static final class LinkTemplate {
+        private final String prefix;
+        private final String suffix;
+        private final StringBuilder builder;
+
+        private LinkTemplate(final String prefix, final String suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.builder = new StringBuilder(prefix.length() + suffix.length() + LINK_OVERHEAD);
+        }
+
+        private String link(final int pageNumber, final String rel) {
+            builder.setLength(0);
+            return builder.append('<')
+                    .append(prefix)
+                    .append(pageNumber)
+                    .append(suffix)
+                    .append(rel)
+                    .toString();
+        }
     }
 }
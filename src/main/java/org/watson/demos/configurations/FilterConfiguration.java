@@ -1,5 +1,6 @@
 package org.watson.demos.configurations;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,14 +10,33 @@ import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+import org.watson.demos.filters.AccessLogWriter;
 import org.watson.demos.filters.RequestLoggingFilter;
+import org.watson.demos.filters.RouteTimers;
 import org.watson.demos.services.TraceService;
 
 import javax.servlet.Filter;
 import javax.servlet.http.HttpServletResponse;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Optional;
 
+/**
+ * <li>[Optional] {@code server.request.logging.async.enabled=} Write access records from a ring buffer on a writer thread, instead of logging on the request thread.</li>
+ * <li>[Optional] {@code server.request.logging.async.file=} Access log file, rotated by size.</li>
+ * <li>[Optional] {@code server.request.logging.async.buffer-size=} Records buffered before new ones are dropped.</li>
+ * <li>[Optional] {@code server.request.logging.async.batch-size=} Records encoded per write.</li>
+ * <li>[Optional] {@code server.request.logging.async.max-file-size=} Size the access log is rotated at.</li>
+ * <li>[Optional] {@code server.request.logging.async.max-history=} Rotated access logs kept.</li>
+ * <li>[Optional] {@code server.request.logging.async.poll-interval=} Time the writer waits when the buffer is empty.</li>
+ * <li>[Optional] {@code server.request.logging.metrics.enabled=} Record request latency per route template, method and status,
+ * off by default as Actuator's {@code http.server.requests} already records it by {@code uri}.</li>
+ * <li>[Optional] {@code server.request.logging.metrics.percentiles-histogram=} Publish a percentile histogram per route for server side quantiles.</li>
+ * <li>[Optional] {@code server.request.logging.metrics.percentiles=} Percentiles published per route, ie {@code 0.5,0.99}.</li>
+ * <li>[Optional] {@code server.request.logging.metrics.slo=} SLO histogram buckets published per route, ie {@code 50ms,200ms}.</li>
+ */
 @Slf4j
 @ConditionalOnWebApplication
 @Configuration(proxyBeanMethods = false)
@@ -25,9 +45,11 @@ class FilterConfiguration {
     @Bean
     @ConditionalOnProperty(value = "server.request.logging.enabled", matchIfMissing = true)
     FilterRegistrationBean<RequestLoggingFilter> requestLoggingRegistrationBean(@Value("${server.request.logging.order:#{null}}") final Optional<Integer> order,
-                                                                                @Value("${server.request.logging.path.root:#{'${spring.graphql.path:/graphql},${spring.data.rest.base-path:/}'.split(',')}}") final Collection<String> rootPaths
+                                                                                @Value("${server.request.logging.path.root:#{'${spring.graphql.path:/graphql},${spring.data.rest.base-path:/}'.split(',')}}") final Collection<String> rootPaths,
+                                                                                final Optional<AccessLogWriter> accessLogWriter,
+                                                                                final Optional<RouteTimers> routeTimers
     ) {
-        final RequestLoggingFilter filter = new RequestLoggingFilter();
+        final RequestLoggingFilter filter = new RequestLoggingFilter(accessLogWriter.orElse(null), routeTimers.orElse(null));
         final String[] urlPatterns = rootPaths.stream()
                 .filter(StringUtils::isNotEmpty)
                 .map(String::trim)
@@ -41,6 +63,27 @@ class FilterConfiguration {
         }};
     }
 
+    @Bean
+    @ConditionalOnProperty(value = "server.request.logging.async.enabled", havingValue = "true")
+    AccessLogWriter accessLogWriter(final MeterRegistry registry,
+                                    @Value("${server.request.logging.async.file:access.log}") final Path file,
+                                    @Value("${server.request.logging.async.buffer-size:8192}") final int bufferSize,
+                                    @Value("${server.request.logging.async.batch-size:512}") final int batchSize,
+                                    @Value("${server.request.logging.async.max-file-size:10MB}") final DataSize maxFileSize,
+                                    @Value("${server.request.logging.async.max-history:5}") final int maxHistory,
+                                    @Value("${server.request.logging.async.poll-interval:PT0.1S}") final Duration pollInterval) {
+        return new AccessLogWriter(file, bufferSize, batchSize, maxFileSize, maxHistory, pollInterval, registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "server.request.logging.metrics.enabled", havingValue = "true")
+    RouteTimers routeTimers(final MeterRegistry registry,
+                            @Value("${server.request.logging.metrics.percentiles-histogram:false}") final boolean percentileHistogram,
+                            @Value("${server.request.logging.metrics.percentiles:}") final double[] percentiles,
+                            @Value("${server.request.logging.metrics.slo:}") final Duration[] slos) {
+        return new RouteTimers(registry, percentileHistogram, percentiles, slos);
+    }
+
     @Bean
     @ConditionalOnProperty(value = {"server.response.trace.header.enabled", "management.trace.http.enabled"}, matchIfMissing = true)
     Filter traceIdHeaderResponseFilter(final TraceService traceService, @Value("${server.response.trace.header.name:Trace-Id}") final String traceHeaderName) {
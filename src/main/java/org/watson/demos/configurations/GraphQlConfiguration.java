@@ -0,0 +1,85 @@
+package org.watson.demos.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.execution.instrumentation.Instrumentation;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.function.RequestPredicates;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+import org.watson.demos.graphql.BatchGraphQlHttpHandler;
+import org.watson.demos.graphql.CachingPreparsedDocumentProvider;
+import org.watson.demos.graphql.CostLimitInstrumentation;
+import org.watson.demos.graphql.FieldTimingInstrumentation;
+import org.watson.demos.graphql.ResultCacheInterceptor;
+
+@Configuration(proxyBeanMethods = false)
+public class GraphQlConfiguration {
+
+    @ConditionalOnProperty(value = "server.graphql.document-cache.enabled", matchIfMissing = true)
+    @Bean
+    public GraphQlSourceBuilderCustomizer documentCacheCustomizer(@Value("${server.graphql.document-cache.max-size:500}") final int maxDocuments,
+                                                                  @Value("${server.graphql.persisted-queries.max-size:1000}") final int maxPersistedQueries) {
+        final CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(maxDocuments, maxPersistedQueries);
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(provider));
+    }
+
+    @ConditionalOnProperty(value = "server.graphql.cost.enabled", matchIfMissing = true)
+    @Bean
+    public Instrumentation costLimitInstrumentation(final MeterRegistry registry,
+                                                    @Value("${server.graphql.cost.max-cost:50000}") final long maxCost,
+                                                    @Value("${server.graphql.cost.max-depth:10}") final int maxDepth,
+                                                    @Value("${server.graphql.cost.max-aliases:100}") final int maxAliases) {
+        return new CostLimitInstrumentation(maxCost, maxDepth, maxAliases, registry);
+    }
+
+    @ConditionalOnProperty(value = "server.graphql.field-metrics.enabled", matchIfMissing = true)
+    @Bean
+    public Instrumentation fieldTimingInstrumentation(final MeterRegistry registry,
+                                                      @Value("${server.graphql.field-metrics.trivial-sample-rate:0.01}") final double trivialSampleRate,
+                                                      @Value("${server.graphql.field-metrics.percentiles-histogram:false}") final boolean percentileHistogram,
+                                                      @Value("${server.graphql.field-metrics.percentiles:}") final double[] percentiles) {
+        return new FieldTimingInstrumentation(registry, trivialSampleRate, percentileHistogram, percentiles);
+    }
+
+    @ConditionalOnProperty(value = "server.graphql.result-cache.enabled", matchIfMissing = true)
+    @Bean
+    public ResultCacheInterceptor resultCacheInterceptor(final MeterRegistry registry,
+                                                         @Value("${server.graphql.result-cache.max-size:1000}") final int maxResults,
+                                                         @Value("${server.graphql.document-cache.max-size:500}") final int maxDocuments) {
+        return new ResultCacheInterceptor(maxResults, maxDocuments, registry);
+    }
+
+    @ConditionalOnProperty(value = "server.graphql.batch.enabled", matchIfMissing = true)
+    @Bean
+    public BatchGraphQlHttpHandler batchGraphQlHttpHandler(final WebGraphQlHandler webGraphQlHandler,
+                                                           final ObjectMapper mapper,
+                                                           final MeterRegistry registry,
+                                                           @Value("${server.graphql.batch.max-operations:20}") final int maxOperations,
+                                                           @Value("${server.graphql.batch.pool-size:8}") final int poolSize,
+                                                           @Value("${server.graphql.batch.queue-capacity:100}") final int queueCapacity) {
+        return new BatchGraphQlHttpHandler(webGraphQlHandler, mapper, registry, maxOperations, poolSize, queueCapacity);
+    }
+
+    /**
+     * Ordered ahead of the auto-configured GraphQL {@link RouterFunction}, so JSON POSTs to the GraphQL path may be batched.
+     */
+    @ConditionalOnProperty(value = "server.graphql.batch.enabled", matchIfMissing = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Bean
+    public RouterFunction<ServerResponse> batchGraphQlRouterFunction(final BatchGraphQlHttpHandler handler,
+                                                                     @Value("${spring.graphql.path:/graphql}") final String path) {
+        return RouterFunctions.route()
+                .POST(path, RequestPredicates.contentType(MediaType.APPLICATION_JSON), handler::handleRequest)
+                .build();
+    }
+}
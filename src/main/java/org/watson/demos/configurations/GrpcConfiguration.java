@@ -0,0 +1,38 @@
+package org.watson.demos.configurations;
+
+import io.grpc.BindableService;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.watson.demos.grpc.GrpcServer;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Serves every {@link BindableService} bean, ie {@link org.watson.demos.controllers.GreetingGrpcController}, over gRPC.
+ * <li>[Optional] {@code server.grpc.enabled=} Start the gRPC server when {@code true}. Off by default, so contexts that
+ * do not ask for it never bind the gRPC port.</li>
+ * <li>[Optional] {@code server.grpc.port=} Port the gRPC server listens on, {@code 0} for any free port.</li>
+ * <li>[Optional] {@code server.grpc.pool-size=} Threads used to run gRPC calls.</li>
+ * <li>[Optional] {@code server.grpc.queue-capacity=} gRPC calls queued for a thread before new calls are rejected with {@code RESOURCE_EXHAUSTED}.</li>
+ * <li>[Optional] {@code server.grpc.shutdown-grace-period=} Time given to in-flight calls on shutdown.</li>
+ */
+@Configuration(proxyBeanMethods = false)
+public class GrpcConfiguration {
+
+    @ConditionalOnProperty("server.grpc.enabled")
+    @Bean
+    public GrpcServer grpcServer(final ObjectProvider<BindableService> services,
+                                 final MeterRegistry registry,
+                                 @Value("${server.grpc.port:9090}") final int port,
+                                 @Value("${server.grpc.pool-size:8}") final int poolSize,
+                                 @Value("${server.grpc.queue-capacity:100}") final int queueCapacity,
+                                 @Value("${server.grpc.shutdown-grace-period:PT10S}") final Duration shutdownGracePeriod) {
+        return new GrpcServer(NettyServerBuilder.forPort(port), services.orderedStream().collect(Collectors.toList()), registry, poolSize, queueCapacity, shutdownGracePeriod);
+    }
+}
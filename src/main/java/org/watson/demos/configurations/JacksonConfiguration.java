@@ -0,0 +1,64 @@
+package org.watson.demos.configurations;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.watson.demos.converters.UnwrappedPageHttpMessageConverter;
+import org.watson.demos.serializers.LocaleSerializer;
+import org.watson.demos.serializers.UuidSerializer;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Registers serializers that write {@link UUID} and {@link Locale} values without intermediate {@link String}s.
+ * Boot installs {@link Module} beans into its {@link com.fasterxml.jackson.databind.ObjectMapper}.<p/>
+ * Also registers CBOR and Smile converters, built from Boot's {@link Jackson2ObjectMapperBuilder} so they share the json
+ * configuration and modules. They replace the defaults Spring MVC adds when the formats are on the classpath, which are not.
+ * <li>[Optional] {@code server.jackson.serializers.enabled=} Fall back to Jackson's own serializers when {@code false}.</li>
+ */
+@Configuration(proxyBeanMethods = false)
+public class JacksonConfiguration {
+
+    @ConditionalOnProperty(value = "server.jackson.serializers.enabled", matchIfMissing = true)
+    @Bean
+    public Module serializersModule() {
+        return new SimpleModule("serializersModule")
+                .addSerializer(UUID.class, new UuidSerializer())
+                .addSerializer(Locale.class, new LocaleSerializer());
+    }
+
+    @ConditionalOnWebApplication
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @ConditionalOnWebApplication
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @ConditionalOnWebApplication
+    @ConditionalOnProperty("server.response.unwrap.page")
+    @Bean
+    public UnwrappedPageHttpMessageConverter cborUnwrappedPageHttpMessageConverter(final MappingJackson2CborHttpMessageConverter converter) {
+        return new UnwrappedPageHttpMessageConverter(converter.getObjectMapper(), converter.getSupportedMediaTypes());
+    }
+
+    @ConditionalOnWebApplication
+    @ConditionalOnProperty("server.response.unwrap.page")
+    @Bean
+    public UnwrappedPageHttpMessageConverter smileUnwrappedPageHttpMessageConverter(final MappingJackson2SmileHttpMessageConverter converter) {
+        return new UnwrappedPageHttpMessageConverter(converter.getObjectMapper(), converter.getSupportedMediaTypes());
+    }
+}
@@ -1,7 +1,13 @@
 package org.watson.demos.controllers;
 
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.DataFetcherResult;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
 import io.micrometer.core.annotation.Timed;
-import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -11,37 +17,106 @@ import org.springframework.graphql.data.method.annotation.Arguments;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Controller;
+import org.watson.demos.graphql.DataFetcherExecutor;
 import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingConnection;
 import org.watson.demos.models.GreetingProbe;
+import org.watson.demos.models.GreetingsCreated;
 import org.watson.demos.services.GreetingService;
+import org.watson.demos.services.GreetingSubscriptionService;
+import org.watson.demos.validation.constraints.ValidElements;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
 @Timed(value = "graphql.greetings.requests", extraTags = {"version", "1"}, description = "/greetings")
 @Controller
 @SchemaMapping(typeName = "Greeting")
 public class GreetingGraphController {
+    static final int MAX_CONNECTION_SIZE = 2000;
+    static final String NOT_FOUND_MESSAGE = "greeting Not Found";
+
     private final GreetingService service;
+    private final GreetingSubscriptionService subscriptionService;
+    private final DataFetcherExecutor executor;
+
+    /**
+     * Registers a {@link DataLoader} that collects every greeting id requested within one execution, and loads them
+     * with a single {@link GreetingService#getAllById} call per {@code server.graphql.dataloader.max-batch-size} ids.
+     * Queries run on the {@link DataFetcherExecutor}, so independent root fields resolve concurrently.
+     */
+    public GreetingGraphController(final GreetingService service,
+                                   final GreetingSubscriptionService subscriptionService,
+                                   final DataFetcherExecutor executor,
+                                   final BatchLoaderRegistry registry,
+                                   @Value("${server.graphql.dataloader.max-batch-size:2000}") final int maxBatchSize) {
+        this.service = service;
+        this.subscriptionService = subscriptionService;
+        this.executor = executor;
+        registry.forTypePair(UUID.class, Greeting.class)
+                .withOptions(o -> o.setMaxBatchSize(Math.max(1, maxBatchSize)))
+                .registerMappedBatchLoader((ids, env) -> Mono.fromFuture(executor.supply(() -> service.getAllById(ids).stream()
+                        .collect(Collectors.toUnmodifiableMap(Greeting::getId, Function.identity())))));
+    }
 
+    /**
+     * A missing greeting is returned as a {@code NOT_FOUND} error in the result rather than thrown, so misses cost no
+     * exception.
+     */
     @QueryMapping(name = "greeting")
-    public Greeting getGreeting(@Argument UUID id) {
-        return service.getOne(id)
-                .orElseThrow();
+    public CompletableFuture<DataFetcherResult<Greeting>> getGreeting(@Argument final UUID id, final DataLoader<UUID, Greeting> loader, final DataFetchingEnvironment environment) {
+        return loader.load(id)
+                .thenApply(g -> g != null ?
+                        DataFetcherResult.<Greeting>newResult().data(g).build() :
+                        DataFetcherResult.<Greeting>newResult().error(GraphqlErrorBuilder.newError(environment)
+                                .errorType(ErrorType.NOT_FOUND)
+                                .message(NOT_FOUND_MESSAGE)
+                                .build()).build());
+    }
+
+    @QueryMapping(name = "greetingsByIds")
+    public CompletableFuture<List<Greeting>> getGreetingsByIds(@Argument @Size(max = MAX_CONNECTION_SIZE) final List<UUID> ids, final DataLoader<UUID, Greeting> loader) {
+        return loader.loadMany(ids);
     }
 
     @QueryMapping(name = "greetings")
-    public Page<Greeting> getGreetings(@Valid @Arguments final GreetingProbe probe, @Valid @Arguments final PageWrapper pageable) {
-        return service.getAll(probe, pageable.toPageable());
+    public CompletableFuture<Page<Greeting>> getGreetings(@Valid @Arguments final GreetingProbe probe, @Valid @Arguments final PageWrapper pageable, final DataFetchingFieldSelectionSet selectionSet) {
+        final Pageable page = pageable.toPageable();
+        final Set<String> attributes = selectionSet.getImmediateFields().stream()
+                .map(SelectedField::getName)
+                .collect(Collectors.toUnmodifiableSet());
+        return executor.supply(() -> service.getAll(probe, page, attributes));
+    }
+
+    @QueryMapping(name = "greetingsConnection")
+    public CompletableFuture<GreetingConnection> getGreetingsConnection(@Valid @Arguments final GreetingProbe probe,
+                                                                        @Argument @Min(1) @Max(MAX_CONNECTION_SIZE) final int first,
+                                                                        @Argument @Nullable final String after) {
+        return executor.supply(() -> service.getConnection(probe, first, after));
+    }
+
+    @SchemaMapping(typeName = "GreetingConnection", field = "totalCount")
+    public CompletableFuture<Long> getTotalCount(final GreetingConnection connection) {
+        final GreetingProbe probe = GreetingProbe.builder().locale(connection.getLocale()).build();
+        return executor.supply(() -> service.count(probe));
     }
 
     @MutationMapping
@@ -52,15 +127,34 @@ public class GreetingGraphController {
     }
 
     @MutationMapping
-    public Collection<Greeting> createGreetings(@Argument final Collection<@Valid Greeting> greetings) {
+    public Collection<Greeting> createGreetings(@Argument @ValidElements final Collection<Greeting> greetings) {
         return service.createAll(greetings);
     }
 
+    /**
+     * {@code createGreetings} for clients that only need the ids. A field's type can't depend on its arguments, so
+     * this is a sibling mutation rather than a flag on {@code createGreetings}.
+     */
+    @MutationMapping
+    public GreetingsCreated createGreetingsMinimal(@Argument @ValidElements final Collection<Greeting> greetings) {
+        return GreetingsCreated.of(service.createAll(greetings));
+    }
+
     @MutationMapping
     public void deleteGreetings(@Argument final Set<UUID> ids) {
         service.deleteAll(ids);
     }
 
+    @SubscriptionMapping
+    public Flux<Greeting> greetingCreated(@Valid @Arguments final GreetingProbe probe) {
+        return subscriptionService.created(probe);
+    }
+
+    @SubscriptionMapping
+    public Flux<List<UUID>> greetingsDeleted() {
+        return subscriptionService.deleted();
+    }
+
     // TODO: Make this a converter (or equivalent)
     @lombok.Value
     static class PageWrapper {
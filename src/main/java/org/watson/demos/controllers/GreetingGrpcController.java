@@ -0,0 +1,273 @@
+package org.watson.demos.controllers;
+
+import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.watson.demos.grpc.v1.CreateGreetingsResponse;
+import org.watson.demos.grpc.v1.GetGreetingRequest;
+import org.watson.demos.grpc.v1.Greeting;
+import org.watson.demos.grpc.v1.GreetingInput;
+import org.watson.demos.grpc.v1.GreetingsGrpc;
+import org.watson.demos.grpc.v1.ListGreetingsRequest;
+import org.watson.demos.models.GreetingConnection;
+import org.watson.demos.models.GreetingProbe;
+import org.watson.demos.services.GreetingService;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC {@code Greetings} service, served by {@link org.watson.demos.grpc.GrpcServer}.
+ * <li>[Optional] {@code server.grpc.create.batch-size=} Greetings inserted per transaction by {@code CreateGreetings}.</li>
+ */
+@Slf4j
+@ConditionalOnProperty(value = "server.grpc.enabled", matchIfMissing = true)
+@Component
+public class GreetingGrpcController extends GreetingsGrpc.GreetingsImplBase {
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final GreetingService service;
+    private final Validator validator;
+    private final int maxPageSize;
+    private final int batchSize;
+
+    public GreetingGrpcController(final GreetingService service,
+                                  final Validator validator,
+                                  @Value("${spring.data.web.pageable.max-page-size:2000}") final int maxPageSize,
+                                  @Value("${server.grpc.create.batch-size:500}") final int batchSize) {
+        this.service = service;
+        this.validator = validator;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void getGreeting(final GetGreetingRequest request, final StreamObserver<Greeting> observer) {
+        try {
+            final Optional<org.watson.demos.models.Greeting> greeting = service.getOne(parseId(request.getId()));
+            if (greeting.isEmpty()) {
+                observer.onError(Status.NOT_FOUND.withDescription("greeting '" + request.getId() + "' Not Found").asRuntimeException());
+                return;
+            }
+            observer.onNext(toMessage(greeting.get()));
+            observer.onCompleted();
+        } catch (RuntimeException e) {
+            observer.onError(toStatusException(e));
+        }
+    }
+
+    @Override
+    public void listGreetings(final ListGreetingsRequest request, final StreamObserver<Greeting> observer) {
+        try {
+            final GreetingProbe probe = GreetingProbe.builder()
+                    .locale(parseLocale(request.getLocale()))
+                    .build();
+            final int pageSize = request.getPageSize() <= 0 ? DEFAULT_PAGE_SIZE : Math.min(request.getPageSize(), maxPageSize);
+            new KeysetStream((ServerCallStreamObserver<Greeting>) observer, probe, pageSize).start();
+        } catch (RuntimeException e) {
+            observer.onError(toStatusException(e));
+        }
+    }
+
+    @Override
+    public StreamObserver<GreetingInput> createGreetings(final StreamObserver<CreateGreetingsResponse> observer) {
+        return new BatchingInserter(observer);
+    }
+
+    @NonNull
+    static Greeting toMessage(@NonNull final org.watson.demos.models.Greeting greeting) {
+        final Greeting.Builder builder = Greeting.newBuilder()
+                .setId(greeting.getId().toString())
+                .setContent(greeting.getContent())
+                .setLocale(greeting.getLocale().toString());
+        if (greeting.getCreated() != null) {
+            builder.setCreated(toTimestamp(greeting.getCreated()));
+        }
+        if (greeting.getModified() != null) {
+            builder.setModified(toTimestamp(greeting.getModified()));
+        }
+        return builder.build();
+    }
+
+    private static Timestamp toTimestamp(@NonNull final ZonedDateTime dateTime) {
+        return Timestamp.newBuilder()
+                .setSeconds(dateTime.toEpochSecond())
+                .setNanos(dateTime.getNano())
+                .build();
+    }
+
+    private static UUID parseId(final String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("id '%s' is not a UUID", id), e);
+        }
+    }
+
+    @Nullable
+    private static Locale parseLocale(final String locale) {
+        return locale.isEmpty() ? null : StringUtils.parseLocale(locale);
+    }
+
+    private static StatusRuntimeException toStatusException(final RuntimeException e) {
+        if (e instanceof StatusRuntimeException) {
+            return (StatusRuntimeException) e;
+        } else if (e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException();
+        } else if (e instanceof DataIntegrityViolationException) {
+            return Status.ALREADY_EXISTS.withDescription("greeting already exists").asRuntimeException();
+        }
+        log.error("gRPC call failed.", e);
+        return Status.INTERNAL.withDescription(e.getClass().getSimpleName()).asRuntimeException();
+    }
+
+    /**
+     * Reads one keyset page at a time, only while the client is ready for more, so a slow client holds neither the
+     * whole result nor a database connection.
+     */
+    private final class KeysetStream implements Runnable {
+        private final ServerCallStreamObserver<Greeting> call;
+        private final GreetingProbe probe;
+        private final int pageSize;
+        private Iterator<GreetingConnection.Edge> page;
+        private String after;
+        private boolean lastPage;
+        private boolean done;
+
+        private KeysetStream(final ServerCallStreamObserver<Greeting> call, final GreetingProbe probe, final int pageSize) {
+            this.call = call;
+            this.probe = probe;
+            this.pageSize = pageSize;
+        }
+
+        private void start() {
+            call.setOnCancelHandler(() -> done = true);
+            call.setOnReadyHandler(this);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!done && call.isReady()) {
+                    if (page != null && page.hasNext()) {
+                        call.onNext(toMessage(page.next().getNode()));
+                    } else if (lastPage) {
+                        done = true;
+                        call.onCompleted();
+                    } else {
+                        final GreetingConnection connection = service.getConnection(probe, pageSize, after);
+                        page = connection.getEdges().iterator();
+                        after = connection.getPageInfo().getEndCursor();
+                        lastPage = !connection.getPageInfo().isHasNextPage();
+                    }
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                call.onError(toStatusException(e));
+            }
+        }
+    }
+
+    /**
+     * Validates each greeting as it arrives and inserts them {@code batchSize} at a time. Inbound flow control holds
+     * the client while a batch is inserted.
+     */
+    private final class BatchingInserter implements StreamObserver<GreetingInput> {
+        private final StreamObserver<CreateGreetingsResponse> observer;
+        private final CreateGreetingsResponse.Builder response = CreateGreetingsResponse.newBuilder();
+        private final List<org.watson.demos.models.Greeting> batch = new ArrayList<>();
+        private boolean failed;
+
+        private BatchingInserter(final StreamObserver<CreateGreetingsResponse> observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onNext(final GreetingInput input) {
+            if (failed) {
+                return;
+            }
+            try {
+                batch.add(validate(input));
+                if (batch.size() >= batchSize) {
+                    flush();
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            failed = true;
+            log.debug("CreateGreetings cancelled by client. created={}", response.getCount(), t);
+        }
+
+        @Override
+        public void onCompleted() {
+            if (failed) {
+                return;
+            }
+            try {
+                flush();
+                observer.onNext(response.build());
+                observer.onCompleted();
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private org.watson.demos.models.Greeting validate(final GreetingInput input) {
+            final org.watson.demos.models.Greeting.GreetingBuilder<?, ?> builder = org.watson.demos.models.Greeting.builder()
+                    .content(input.getContent());
+            final Locale locale = parseLocale(input.getLocale());
+            if (locale != null) {
+                builder.locale(locale);
+            }
+            final org.watson.demos.models.Greeting greeting = builder.build();
+            final Set<ConstraintViolation<org.watson.demos.models.Greeting>> violations = validator.validate(greeting);
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ", "greeting " + (response.getCount() + batch.size()) + " is not valid: ", "")));
+            }
+            return greeting;
+        }
+
+        private void flush() {
+            if (!batch.isEmpty()) {
+                service.createAll(batch).forEach(g -> response.addIds(g.getId().toString()));
+                response.setCount(response.getIdsCount());
+                batch.clear();
+            }
+        }
+
+        private void fail(final RuntimeException e) {
+            failed = true;
+            final StatusRuntimeException status = toStatusException(e);
+            observer.onError(status.getStatus()
+                    .augmentDescription(String.format("%d greetings created before the failure", response.getCount()))
+                    .asRuntimeException());
+        }
+    }
+}
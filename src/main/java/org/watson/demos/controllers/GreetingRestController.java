@@ -1,12 +1,20 @@
 package org.watson.demos.controllers;
 
 import io.micrometer.core.annotation.Timed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springdoc.api.annotations.ParameterObject;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,28 +25,48 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.watson.demos.exceptions.ExpectedStatusException;
 import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingChange;
 import org.watson.demos.models.GreetingProbe;
+import org.watson.demos.models.GreetingsCreated;
 import org.watson.demos.services.GreetingService;
+import org.watson.demos.services.GreetingStreamService;
+import org.watson.demos.validation.constraints.ValidElements;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.sql.SQLException;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+@Slf4j
 @Validated
 @RequiredArgsConstructor
 @Timed(value = "http.greetings.requests", extraTags = {"version", "1"}, description = "/greetings")
-@RequestMapping(path = "${spring.data.rest.base-path:}/greetings", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(path = "${spring.data.rest.base-path:}/greetings", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, GreetingRestController.APPLICATION_SMILE_VALUE})
 @RestController
 public class GreetingRestController {
+    static final int MAX_CHANGES_SIZE = 2000;
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    static final String PREFER = "Prefer";
+    static final String PREFERENCE_APPLIED = "Preference-Applied";
+    static final String RETURN_MINIMAL = "return=minimal";
+    static final String CONFLICT_REASON = "greeting already exists";
+    /** SQLState of a unique or primary key violation. */
+    static final String UNIQUE_VIOLATION = "23505";
+
     private final GreetingService service;
+    private final GreetingStreamService streamService;
 
     @GetMapping("{id}")
     public Greeting getGreeting(@PathVariable final UUID id) {
         return service.getOne(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, String.format("greeting '%s' Not Found", id)));
+                .orElseThrow(() -> new ExpectedStatusException(HttpStatus.NOT_FOUND, "greeting '" + id + "' Not Found"));
     }
 
     @GetMapping
@@ -46,10 +74,45 @@ public class GreetingRestController {
         return service.getAll(probe, pageable);
     }
 
+    /**
+     * The batch resource that compact {@code Content-Location} headers point to; takes the same {@code id} list as
+     * {@link #deleteGreetings}.
+     */
+    @GetMapping(params = "id")
+    public List<Greeting> getGreetingsById(@RequestParam final Set<UUID> id) {
+        return service.getAllById(id);
+    }
+
+    @GetMapping("changes")
+    public List<GreetingChange> getChanges(@RequestParam(defaultValue = "0") @Min(0) final long since,
+                                           @RequestParam(defaultValue = "100") @Min(1) @Max(MAX_CHANGES_SIZE) final int size) {
+        return service.getChanges(since, size);
+    }
+
+    @GetMapping(path = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGreetings(@Valid final GreetingProbe probe) {
+        return streamService.subscribe(probe);
+    }
+
+    @Parameter(in = ParameterIn.HEADER, name = PREFER, description = "With " + RETURN_MINIMAL + ", responds with only the count and ids of the created greetings.",
+            schema = @Schema(allowableValues = RETURN_MINIMAL))
     @ResponseStatus(HttpStatus.CREATED)
-    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    public Collection<Greeting> createGreetings(@RequestBody final Collection<@Valid Greeting> greetings) {
-        return service.createAll(greetings);
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public Collection<Greeting> createGreetings(@RequestBody @ValidElements final Collection<Greeting> greetings) {
+        return createAll(greetings);
+    }
+
+    /**
+     * Selected by {@code Prefer: return=minimal} (<a href=https://www.rfc-editor.org/rfc/rfc7240#section-4.2>RFC 7240</a>),
+     * so bulk creates skip serializing every greeting and building a {@code Content-Location} per greeting.
+     * Hidden from the API docs, which describe the header on {@link #createGreetings}.
+     */
+    @Operation(hidden = true)
+    @PostMapping(headers = PREFER + "=" + RETURN_MINIMAL, consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<GreetingsCreated> createGreetingsMinimal(@RequestBody @ValidElements final Collection<Greeting> greetings) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(PREFERENCE_APPLIED, RETURN_MINIMAL)
+                .body(GreetingsCreated.of(createAll(greetings)));
     }
 
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -57,4 +120,31 @@ public class GreetingRestController {
     public void deleteGreetings(@RequestParam final Set<UUID> id) {
         service.deleteAll(id);
     }
+
+    private Collection<Greeting> createAll(final Collection<Greeting> greetings) {
+        try {
+            return service.createAll(greetings);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicate(e)) {
+                throw e;
+            }
+            log.debug("Greeting already exists. {}", e.getMessage());
+            throw new ExpectedStatusException(HttpStatus.CONFLICT, CONFLICT_REASON);
+        }
+    }
+
+    /**
+     * Only a unique key violation means the greeting exists; NOT NULL, length or foreign key violations are not conflicts.
+     */
+    private static boolean isDuplicate(final DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && UNIQUE_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -1,8 +1,11 @@
 package org.watson.demos.converters;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -20,12 +23,18 @@ import org.springframework.web.bind.annotation.RestController;
 import org.watson.demos.advice.UnwrappedPageResponseBodyAdvice;
 
 import java.io.IOException;
-import java.util.stream.Stream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Write-only converter. When enabled, unwraps {@link Page} json response body objects from {@link RestController} classes,
+ * Write-only converter. When enabled, unwraps {@link Page} response body objects from {@link RestController} classes,
  * returning only the {@link Page#get()} content, instead of the wrapped {@link Page} response. Used in conjunction with
  * {@link UnwrappedPageResponseBodyAdvice}, which writes all pertinent page data to the response headers.
+ * <p></p>The content is written as an array straight from {@link Page#getContent()}. An {@link ObjectWriter} is resolved
+ * once per element type and cached, so pages of a single element type skip per-element serializer lookups.
+ * The component writes json. Instances for other Jackson formats, ie CBOR or Smile, take that format's {@link ObjectMapper}
+ * and {@link MediaType}s.
  * <p></p><strong>Enable the feature with the Spring property:</strong><blockquote>server.response.unwrap.page=true</blockquote>
  *
  * @see UnwrappedPageResponseBodyAdvice
@@ -36,11 +45,18 @@ import java.util.stream.Stream;
 @Component
 public class UnwrappedPageHttpMessageConverter extends AbstractHttpMessageConverter<Page<?>> {
     private final ObjectMapper objectMapper;
+    private final ObjectWriter mixedWriter;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
 
+    @Autowired
     public UnwrappedPageHttpMessageConverter(final ObjectMapper objectMapper) {
-        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
-        this.objectMapper = objectMapper
-                .registerModule(new Jdk8Module());
+        this(objectMapper, List.of(MediaType.APPLICATION_JSON, new MediaType("application", "*+json")));
+    }
+
+    public UnwrappedPageHttpMessageConverter(final ObjectMapper objectMapper, final List<MediaType> supportedMediaTypes) {
+        setSupportedMediaTypes(supportedMediaTypes);
+        this.objectMapper = objectMapper;
+        this.mixedWriter = objectMapper.writer();
     }
 
     @Override
@@ -50,13 +66,30 @@ public class UnwrappedPageHttpMessageConverter extends AbstractHttpMessageConver
 
     @Override
     protected void writeInternal(final Page<?> page, final HttpOutputMessage outputMessage) throws IOException {
-        final JsonGenerator generator = objectMapper.getFactory()
-                .createGenerator(outputMessage.getBody());
-        objectMapper.writerFor(Stream.class)
-                .writeValue(generator, page.get());
+        final List<?> content = page.getContent();
+        final ObjectWriter writer = writerFor(content);
+        // Created through the writer, so the mapper's generator settings, ie INDENT_OUTPUT, always apply.
+        final JsonGenerator generator = writer.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8);
+        try (SequenceWriter sequence = writer.writeValuesAsArray(generator)) {
+            sequence.writeAll(content);
+        }
         generator.flush();
     }
 
+    @NonNull
+    private ObjectWriter writerFor(@NonNull final List<?> content) {
+        final Class<?> elementType = content.isEmpty() || content.get(0) == null ? null : content.get(0).getClass();
+        if (elementType == null) {
+            return mixedWriter;
+        }
+        for (final Object element : content) {
+            if (element == null || element.getClass() != elementType) {
+                return mixedWriter;
+            }
+        }
+        return writers.computeIfAbsent(elementType, objectMapper::writerFor);
+    }
+
     @Override
     public boolean canRead(@Nullable final Class<?> ignored1, final MediaType ignored2) {
         return false;
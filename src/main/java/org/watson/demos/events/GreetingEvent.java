@@ -0,0 +1,52 @@
+package org.watson.demos.events;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.lang.NonNull;
+import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingChange;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Published by {@link org.watson.demos.services.GreetingService} writes. Created events carry the saved greetings,
+ * deleted events only carry the ids.
+ */
+public class GreetingEvent extends ApplicationEvent {
+    private final GreetingChange.Type type;
+    private final Collection<Greeting> greetings;
+
+    public static GreetingEvent created(@NonNull final Collection<Greeting> greetings) {
+        return new GreetingEvent(GreetingChange.Type.CREATED, greetings, greetings.stream()
+                .map(Greeting::getId)
+                .collect(Collectors.toList()));
+    }
+
+    public static GreetingEvent deleted(@NonNull final Collection<UUID> ids) {
+        return new GreetingEvent(GreetingChange.Type.DELETED, List.of(), ids);
+    }
+
+    private GreetingEvent(@NonNull final GreetingChange.Type type, @NonNull final Collection<Greeting> greetings, @NonNull final Collection<UUID> ids) {
+        super(ids);
+        this.type = type;
+        this.greetings = greetings;
+    }
+
+    @NonNull
+    public GreetingChange.Type getType() {
+        return type;
+    }
+
+    @NonNull
+    public Collection<Greeting> getGreetings() {
+        return greetings;
+    }
+
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public Collection<UUID> getIds() {
+        return (Collection<UUID>) getSource();
+    }
+}
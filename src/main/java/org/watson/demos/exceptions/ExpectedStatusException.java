@@ -0,0 +1,29 @@
+package org.watson.demos.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+
+/**
+ * Exception for expected outcomes, like a lookup of an id that doesn't exist. It is built with suppression disabled
+ * and no stack trace, so one per occurrence costs little more than its reason, and nothing added to it outlives the
+ * request. {@link org.watson.demos.advice.ExpectedStatusExceptionAdvice} sends its status and reason, the same error
+ * response as a {@link org.springframework.web.server.ResponseStatusException}.
+ */
+public class ExpectedStatusException extends RuntimeException {
+    private final HttpStatus status;
+
+    public ExpectedStatusException(@NonNull final HttpStatus status, @NonNull final String reason) {
+        super(reason, null, false, false);
+        this.status = status;
+    }
+
+    @NonNull
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    @NonNull
+    public String getReason() {
+        return getMessage();
+    }
+}
@@ -0,0 +1,350 @@
+package org.watson.demos.filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes {@link RequestLoggingFilter} access records to a size rotated file, off the request thread.<p/>
+ * Request threads copy each record's fields into a preallocated ring buffer and return. A single writer thread encodes
+ * the buffered records in batches. When the buffer is full, records are dropped and counted rather than waiting.
+ * Rotated files are renamed {@code file.1} (newest) to {@code file.maxHistory} (oldest).<p/>
+ * Stops after the web server, so the last requests are written. Records appended once stopped, or left unwritten by
+ * the stop, are dropped and counted. A failed write or rotation drops and counts its batch, and the file is reopened for
+ * the next one.<p/>
+ * Meters: {@code access.log.dropped} records dropped, {@code access.log.buffered} records waiting to be written.
+ */
+@Slf4j
+public class AccessLogWriter implements SmartLifecycle {
+    static final String THREAD_NAME = "access-log-writer";
+    /** The web server stops at {@code SMART_LIFECYCLE_PHASE - 1}, a lower phase stops after it. */
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024;
+
+    private final Path file;
+    private final int capacity;
+    private final int mask;
+    private final int batchSize;
+    private final long maxFileSize;
+    private final int maxHistory;
+    private final long pollNanos;
+    private final Counter dropped;
+
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLongArray published;
+    private volatile long consumed;
+
+    private final long[] timestamps;
+    private final long[] durations;
+    private final int[] statuses;
+    private final String[] methods;
+    private final String[] uris;
+    private final String[] queries;
+    private final String[] clients;
+
+    private final Object abandonLock = new Object();
+    private boolean closed;
+
+    private final StringBuilder batch = new StringBuilder();
+    @Nullable
+    private OutputStream out;
+    private long fileSize;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile boolean stopped;
+
+    /**
+     * @param bufferSize Records buffered, rounded up to a power of two.
+     */
+    public AccessLogWriter(@NonNull final Path file,
+                           final int bufferSize,
+                           final int batchSize,
+                           @NonNull final DataSize maxFileSize,
+                           final int maxHistory,
+                           @NonNull final Duration pollInterval,
+                           @NonNull final MeterRegistry registry) {
+        this.file = file.toAbsolutePath();
+        this.capacity = bufferSize <= 2 ? 2 : Integer.highestOneBit(Math.min(bufferSize, 1 << 30) - 1) << 1;
+        this.mask = capacity - 1;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxFileSize = Math.max(1, maxFileSize.toBytes());
+        this.maxHistory = Math.max(0, maxHistory);
+        this.pollNanos = Math.max(1, pollInterval.toNanos());
+        this.dropped = registry.counter("access.log.dropped");
+        Gauge.builder("access.log.buffered", this, w -> w.claimed.get() - w.consumed).register(registry);
+
+        final long[] unpublished = new long[capacity];
+        Arrays.fill(unpublished, -1);
+        this.published = new AtomicLongArray(unpublished);
+        this.timestamps = new long[capacity];
+        this.durations = new long[capacity];
+        this.statuses = new int[capacity];
+        this.methods = new String[capacity];
+        this.uris = new String[capacity];
+        this.queries = new String[capacity];
+        this.clients = new String[capacity];
+    }
+
+    /**
+     * Buffers one access record without blocking.
+     *
+     * @param status {@code -1} when the response has no status.
+     * @return {@code false} when the buffer was full or the writer stopped, and the record was dropped.
+     */
+    public boolean append(final String method, final String uri, @Nullable final String query, final String client, final int status, final long durationMillis) {
+        if (stopped) {
+            dropped.increment();
+            return false;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= capacity) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        final int slot = (int) sequence & mask;
+        timestamps[slot] = System.currentTimeMillis();
+        durations[slot] = durationMillis;
+        statuses[slot] = status;
+        methods[slot] = method;
+        uris[slot] = uri;
+        queries[slot] = query;
+        clients[slot] = client;
+        published.lazySet(slot, sequence);
+        if (stopped) {
+            // Stopped while appending, so the writer's last drain may have missed this record.
+            synchronized (abandonLock) {
+                if (closed) {
+                    countAbandoned();
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Access log failed to open. file=" + file, e);
+        }
+        synchronized (abandonLock) {
+            closed = false;
+        }
+        running = true;
+        stopped = false;
+        writer = new Thread(this::run, THREAD_NAME);
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Access log started. file={}, bufferSize={}", file, capacity);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        stopped = true;
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Access log stopped. dropped={}", (long) dropped.count());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                if (drainSafely() == 0) {
+                    LockSupport.parkNanos(this, pollNanos);
+                }
+            }
+            while (drainSafely() > 0) {
+                // Write what was buffered before the stop.
+            }
+        } finally {
+            close();
+            synchronized (abandonLock) {
+                closed = true;
+                countAbandoned();
+            }
+        }
+    }
+
+    /**
+     * Keeps the writer running when a batch fails to encode. The batch was already dropped and counted.
+     */
+    private int drainSafely() {
+        try {
+            return drain();
+        } catch (RuntimeException e) {
+            log.warn("Access log batch failed. file={}", file, e);
+            return 1;
+        }
+    }
+
+    /**
+     * Encodes and writes up to {@code batchSize} published records, then frees their slots.
+     */
+    private int drain() {
+        long sequence = consumed;
+        int count = 0;
+        batch.setLength(0);
+        try {
+            while (count < batchSize) {
+                final int slot = (int) sequence & mask;
+                if (published.get(slot) != sequence) {
+                    break;
+                }
+                sequence++;
+                count++;
+                encode(slot);
+                methods[slot] = null;
+                uris[slot] = null;
+                queries[slot] = null;
+                clients[slot] = null;
+            }
+        } catch (RuntimeException e) {
+            dropped.increment(count);
+            throw e;
+        } finally {
+            consumed = sequence;
+        }
+        if (count > 0) {
+            write(batch.toString().getBytes(StandardCharsets.UTF_8), count);
+        }
+        return count;
+    }
+
+    /**
+     * Counts records claimed but never written once the writer has closed, including any still being appended.
+     * Each is counted once, by the writer or by the first late append to find it.
+     */
+    private void countAbandoned() {
+        final long end = claimed.get();
+        if (end > consumed) {
+            dropped.increment(end - consumed);
+            consumed = end;
+        }
+    }
+
+    private void encode(final int slot) {
+        batch.append(Instant.ofEpochMilli(timestamps[slot])).append(' ')
+                .append(methods[slot]).append('=').append(uris[slot]);
+        if (queries[slot] != null) {
+            batch.append('?').append(queries[slot]);
+        }
+        batch.append(";client=").append(clients[slot]).append(";status=");
+        if (statuses[slot] < 0) {
+            batch.append("null");
+        } else {
+            batch.append(statuses[slot]);
+        }
+        batch.append(";duration=").append(durations[slot]).append('\n');
+    }
+
+    private void write(final byte[] bytes, final int count) {
+        try {
+            if (out == null) {
+                open();
+            }
+            if (fileSize > 0 && fileSize + bytes.length > maxFileSize) {
+                rotate();
+            }
+            out.write(bytes);
+            out.flush();
+            fileSize += bytes.length;
+        } catch (IOException | RuntimeException e) {
+            dropped.increment(count);
+            log.warn("Access log write failed. file={}, records={}", file, count, e);
+        }
+    }
+
+    /**
+     * When renaming fails the file stays closed, and is reopened for the next batch.
+     */
+    private void rotate() throws IOException {
+        final OutputStream current = out;
+        out = null;
+        current.close();
+        if (maxHistory == 0) {
+            Files.delete(file);
+        } else {
+            Files.deleteIfExists(rotated(maxHistory));
+            for (int i = maxHistory - 1; i > 0; i--) {
+                final Path from = rotated(i);
+                if (Files.exists(from)) {
+                    Files.move(from, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private Path rotated(final int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void open() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileSize = Files.size(file);
+    }
+
+    private void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Access log failed to close. file={}", file, e);
+        } finally {
+            out = null;
+        }
+    }
+}
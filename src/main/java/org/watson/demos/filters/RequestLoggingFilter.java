@@ -1,7 +1,10 @@
 package org.watson.demos.filters;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -21,28 +24,106 @@ import java.io.IOException;
  *    registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
  * }</pre>
  * Logger uses SLF4J. Log info example: <blockquote>GET=/path/sub-path?queryParam=0&size=999;client=192.168.0.1;status=200;duration=30</blockquote>
+ * Given an {@link AccessLogWriter}, the same fields are buffered for it instead, and written off the request thread.
+ * Given {@link RouteTimers}, the duration is also recorded in nanoseconds per route template, method and status.
+ * Async requests are logged and timed when they complete, not when the initial dispatch returns.
  */
 @Slf4j
 public class RequestLoggingFilter implements Filter {
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    @Nullable
+    private final AccessLogWriter accessLogWriter;
+    @Nullable
+    private final RouteTimers routeTimers;
+
+    public RequestLoggingFilter() {
+        this(null, null);
+    }
+
+    public RequestLoggingFilter(@Nullable final AccessLogWriter accessLogWriter, @Nullable final RouteTimers routeTimers) {
+        this.accessLogWriter = accessLogWriter;
+        this.routeTimers = routeTimers;
+    }
 
     @Override
     public void doFilter(final ServletRequest servletRequest, final ServletResponse servletResponse, final FilterChain filterChain) throws IOException, ServletException {
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
+        boolean failed = true;
         try {
             filterChain.doFilter(servletRequest, servletResponse);
+            failed = false;
         } finally {
-            if (servletRequest instanceof HttpServletRequest) {
-                final HttpServletRequest request = (HttpServletRequest) servletRequest;
-                log.info("{}={}{};client={};status={};duration={}",
-                        request.getMethod(),
-                        request.getRequestURI(),
-                        request.getQueryString() != null ? "?" + request.getQueryString() : "",
-                        request.getRemoteAddr(),
-                        servletResponse instanceof HttpServletResponse ? ((HttpServletResponse) servletResponse).getStatus() : null,
-                        System.currentTimeMillis() - start);
-            } else {
+            if (!(servletRequest instanceof HttpServletRequest)) {
                 log.warn("Unknown request: {}", servletRequest != null ? servletRequest.getClass() : null);
+            } else if (!failed && servletRequest.isAsyncStarted()) {
+                servletRequest.getAsyncContext().addListener(new CompletionListener((HttpServletRequest) servletRequest, servletResponse, start));
+            } else {
+                record((HttpServletRequest) servletRequest, servletResponse, failed, System.nanoTime() - start);
             }
         }
     }
+
+    private void record(final HttpServletRequest request, final ServletResponse response, final boolean failed, final long duration) {
+        final int status = response instanceof HttpServletResponse ? ((HttpServletResponse) response).getStatus() : -1;
+        if (routeTimers != null) {
+            // An exception still escaping the chain becomes a 500 once it reaches the container.
+            routeTimers.record(request, failed && status < 400 ? 500 : status, duration);
+        }
+        if (accessLogWriter != null) {
+            accessLogWriter.append(
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    request.getQueryString(),
+                    request.getRemoteAddr(),
+                    status,
+                    duration / NANOS_PER_MILLI);
+        } else {
+            log.info("{}={}{};client={};status={};duration={}",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    request.getQueryString() != null ? "?" + request.getQueryString() : "",
+                    request.getRemoteAddr(),
+                    status < 0 ? null : status,
+                    duration / NANOS_PER_MILLI);
+        }
+    }
+
+    /**
+     * Records an async request, ie GraphQL or SSE, once it completes with its final status, rather than when the
+     * initial dispatch returns. A timeout or error marks the request as failed, then the container completes it.
+     */
+    private final class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final ServletResponse response;
+        private final long start;
+        private volatile boolean failed;
+
+        private CompletionListener(final HttpServletRequest request, final ServletResponse response, final long start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            record(request, response, failed, System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            // A new async cycle drops its listeners, so stay registered until the request completes.
+            event.getAsyncContext().addListener(this);
+        }
+    }
 }
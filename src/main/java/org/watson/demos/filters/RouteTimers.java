@@ -0,0 +1,69 @@
+package org.watson.demos.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records {@link RequestLoggingFilter} request latency in the {@code http.server.route} timer.
+ * <li>Tagged by {@code route} as the matched handler pattern, ie {@code /v1/greetings/{id}}, never the raw URI, so
+ * cardinality is bounded by the mappings. Unmatched requests are {@code NOT_FOUND}, {@code REDIRECTION} or {@code UNKNOWN}.</li>
+ * <li>{@code method} is the HTTP method, {@code OTHER} for nonstandard ones, and {@code status} the response status.</li>
+ * <li>Publishes the configured percentiles and SLO buckets, plus a percentile histogram for server side quantiles when
+ * enabled. The histogram adds a series per bucket to every route, method and status.</li>
+ */
+public class RouteTimers {
+    static final String METRIC_NAME = "http.server.route";
+
+    private final MeterRegistry registry;
+    private final boolean percentileHistogram;
+    private final double[] percentiles;
+    private final Duration[] slos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RouteTimers(@NonNull final MeterRegistry registry, final boolean percentileHistogram, @NonNull final double[] percentiles, @NonNull final Duration... slos) {
+        this.registry = registry;
+        this.percentileHistogram = percentileHistogram;
+        this.percentiles = percentiles.clone();
+        this.slos = slos.clone();
+    }
+
+    public void record(@NonNull final HttpServletRequest request, final int status, final long durationNanos) {
+        timer(route(request, status), method(request.getMethod()), status).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @NonNull
+    private Timer timer(final String route, final String method, final int status) {
+        return timers.computeIfAbsent(route + '|' + method + '|' + status, k -> Timer.builder(METRIC_NAME)
+                .description("HTTP request latency by route template")
+                .tags("route", route, "method", method, "status", String.valueOf(status))
+                .publishPercentileHistogram(percentileHistogram)
+                .publishPercentiles(percentiles)
+                .serviceLevelObjectives(slos)
+                .register(registry));
+    }
+
+    private static String route(final HttpServletRequest request, final int status) {
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        } else if (status == 404) {
+            return "NOT_FOUND";
+        } else if (status >= 300 && status < 400) {
+            return "REDIRECTION";
+        }
+        return "UNKNOWN";
+    }
+
+    private static String method(final String method) {
+        return HttpMethod.resolve(method) != null ? method : "OTHER";
+    }
+}
@@ -0,0 +1,165 @@
+package org.watson.demos.graphql;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.graphql.execution.ThreadLocalAccessor;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.webmvc.GraphQlHttpHandler;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.AlternativeJdkIdGenerator;
+import org.springframework.util.IdGenerator;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Accepts a JSON array of GraphQL operations on the GraphQL HTTP endpoint, and answers an array of results in request order.
+ * Operations of one batch are executed concurrently on a bounded executor, and an invalid operation only fails its own entry.
+ * Each operation sees the request thread's {@link ThreadLocalAccessor} values, as a single operation would.
+ * Single operation requests are passed to the standard {@link GraphQlHttpHandler} unchanged.
+ * Pool metrics are published under {@code executor.*} with {@code name=graphql.batch}.
+ * <li>[Optional] {@code server.graphql.batch.max-operations=} Operations accepted in one batch.</li>
+ * <li>[Optional] {@code server.graphql.batch.pool-size=} Threads used to execute batched operations.</li>
+ * <li>[Optional] {@code server.graphql.batch.queue-capacity=} Batched operations queued before they run on the request thread.</li>
+ */
+@Slf4j
+public class BatchGraphQlHttpHandler implements DisposableBean {
+    static final String NAME = "graphql.batch";
+    private static final TypeReference<List<Map<String, Object>>> OPERATIONS = new TypeReference<>() {};
+
+    private final WebGraphQlHandler graphQlHandler;
+    private final GraphQlHttpHandler singleHandler;
+    private final ObjectMapper mapper;
+    private final int maxOperations;
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final Scheduler scheduler;
+    private final IdGenerator idGenerator = new AlternativeJdkIdGenerator();
+
+    public BatchGraphQlHttpHandler(@NonNull final WebGraphQlHandler graphQlHandler,
+                                   @NonNull final ObjectMapper mapper,
+                                   @NonNull final MeterRegistry registry,
+                                   final int maxOperations,
+                                   final int poolSize,
+                                   final int queueCapacity) {
+        this.graphQlHandler = graphQlHandler;
+        this.singleHandler = new GraphQlHttpHandler(graphQlHandler);
+        this.mapper = mapper;
+        this.maxOperations = Math.max(1, maxOperations);
+        executor.setThreadNamePrefix("graphql-batch-");
+        executor.setCorePoolSize(Math.max(1, poolSize));
+        executor.setMaxPoolSize(Math.max(1, poolSize));
+        executor.setQueueCapacity(Math.max(0, queueCapacity));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        Optional.ofNullable(graphQlHandler.getThreadLocalAccessor())
+                .ifPresent(accessor -> executor.setTaskDecorator(task -> restoring(accessor, task)));
+        executor.initialize();
+        this.scheduler = Schedulers.fromExecutorService(ExecutorServiceMetrics.monitor(registry, executor.getThreadPoolExecutor(), NAME, List.of()));
+    }
+
+    @NonNull
+    public ServerResponse handleRequest(@NonNull final ServerRequest request) throws ServletException, IOException {
+        final byte[] body = request.body(byte[].class);
+        if (!isArray(body)) {
+            return singleHandler.handleRequest(ServerRequest.from(request).body(body).build());
+        }
+
+        final List<Map<String, Object>> operations = readOperations(body);
+        log.debug("Executing GraphQL batch. operations={}", operations.size());
+        return ServerResponse.async(execute(operations, request.uri(), request.headers().asHttpHeaders(), LocaleContextHolder.getLocale())
+                .map(results -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(results)));
+    }
+
+    @NonNull
+    Mono<List<Map<String, Object>>> execute(@NonNull final List<Map<String, Object>> operations, final URI uri, final HttpHeaders headers, final Locale locale) {
+        return Flux.fromIterable(operations)
+                .flatMapSequential(operation -> Mono.defer(() -> graphQlHandler.handleRequest(new WebGraphQlRequest(uri, headers, operation, idGenerator.generateId().toString(), locale)))
+                        .subscribeOn(scheduler)
+                        .map(WebGraphQlResponse::toMap)
+                        .onErrorResume(ServerWebInputException.class, e -> Mono.just(error(e.getReason())))
+                        .onErrorResume(IllegalArgumentException.class, e -> Mono.just(error(e.getMessage()))))
+                .collectList();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    @NonNull
+    private List<Map<String, Object>> readOperations(final byte[] body) {
+        final List<Map<String, Object>> operations;
+        try {
+            operations = mapper.readValue(body, OPERATIONS);
+        } catch (IOException e) {
+            throw new ServerWebInputException("GraphQL batch must be an array of operations", null, e);
+        }
+        if (operations.isEmpty() || operations.size() > maxOperations || operations.contains(null)) {
+            throw new ServerWebInputException("GraphQL batch must contain between 1 and " + maxOperations + " operations");
+        }
+        return operations;
+    }
+
+    /**
+     * Captures the submitting thread's values, which is the request thread as operations are subscribed there, and
+     * restores them while the operation is subscribed, so the handler carries them into the execution as it would for a
+     * single operation. The running thread's own values are restored afterwards, as a saturated pool runs the task on the
+     * request thread.
+     */
+    @NonNull
+    private static Runnable restoring(@NonNull final ThreadLocalAccessor accessor, @NonNull final Runnable task) {
+        final Map<String, Object> values = new HashMap<>();
+        accessor.extractValues(values);
+        return () -> {
+            final Map<String, Object> previous = new HashMap<>();
+            accessor.extractValues(previous);
+            accessor.restoreValues(values);
+            try {
+                task.run();
+            } finally {
+                accessor.resetValues(values);
+                accessor.restoreValues(previous);
+            }
+        };
+    }
+
+    @NonNull
+    private static Map<String, Object> error(@Nullable final String message) {
+        return Map.of("errors", List.of(Map.of("message", String.valueOf(message))));
+    }
+
+    private static boolean isArray(final byte[] body) {
+        for (final byte b : body) {
+            if (!Character.isWhitespace(b)) {
+                return b == '[';
+            }
+        }
+        return false;
+    }
+}
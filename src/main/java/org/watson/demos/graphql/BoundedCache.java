@@ -0,0 +1,39 @@
+package org.watson.demos.graphql;
+
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used map holding at most {@code maxSize} entries.
+ */
+class BoundedCache<K, V> {
+    private final Map<K, V> entries;
+
+    BoundedCache(final int maxSize) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Nullable
+    synchronized V get(final K key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(final K key, final V value) {
+        entries.put(key, value);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,101 @@
+package org.watson.demos.graphql;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Skips parsing and validation of documents that have already been seen.
+ * <li>Plain requests are cached by document text, up to {@code maxDocuments}.</li>
+ * <li>Requests with an Apollo {@code extensions.persistedQuery.sha256Hash} are cached by hash, up to {@code maxPersistedQueries}.
+ * A hash-only request sends {@value PersistedQuerySupport#PERSISTED_QUERY_MARKER} as its query, since the HTTP transport
+ * requires one. A miss answers {@code PersistedQueryNotFound}, and the client registers the hash by resending it with the full query.</li>
+ * Documents with parse or validation errors are never cached.
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+    private static final String PERSISTED_QUERY = "persistedQuery";
+
+    private final BoundedCache<String, PreparsedDocumentEntry> documents;
+    @Nullable
+    private final PreparsedDocumentProvider persistedQueries;
+
+    public CachingPreparsedDocumentProvider(final int maxDocuments, final int maxPersistedQueries) {
+        this.documents = new BoundedCache<>(Math.max(0, maxDocuments));
+        this.persistedQueries = maxPersistedQueries > 0 ?
+                new ApolloPersistedQuerySupport(new BoundedPersistedQueryCache(maxPersistedQueries)) :
+                null;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(@NonNull final ExecutionInput executionInput, @NonNull final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        final Map<String, Object> extensions = executionInput.getExtensions();
+        if (persistedQueries != null && extensions != null && extensions.containsKey(PERSISTED_QUERY)) {
+            return persistedQueries.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+
+        final String query = executionInput.getQuery();
+        final PreparsedDocumentEntry cached = documents.get(query);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        final PreparsedDocumentEntry entry = parseAndValidateFunction.apply(executionInput);
+        if (!entry.hasErrors()) {
+            documents.put(query, entry);
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    /**
+     * @deprecated Still abstract in graphql-java 18, use {@link #getDocumentAsync}.
+     */
+    @Deprecated
+    @Override
+    public PreparsedDocumentEntry getDocument(@NonNull final ExecutionInput executionInput, @NonNull final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsync(executionInput, parseAndValidateFunction).join();
+    }
+
+    private static class BoundedPersistedQueryCache implements PersistedQueryCache {
+        private final BoundedCache<Object, PreparsedDocumentEntry> entries;
+
+        private BoundedPersistedQueryCache(final int maxSize) {
+            this.entries = new BoundedCache<>(maxSize);
+        }
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(final Object persistedQueryId, final ExecutionInput executionInput, final PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+            final PreparsedDocumentEntry cached = entries.get(persistedQueryId);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            final String query = executionInput.getQuery();
+            if (query == null || query.isBlank() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+                throw new PersistedQueryNotFound(persistedQueryId);
+            }
+            final PreparsedDocumentEntry entry = onCacheMiss.apply(query);
+            if (!entry.hasErrors()) {
+                entries.put(persistedQueryId, entry);
+            }
+            return CompletableFuture.completedFuture(entry);
+        }
+
+        /**
+         * @deprecated Still abstract in graphql-java 18, use {@link #getPersistedQueryDocumentAsync}.
+         */
+        @Deprecated
+        @Override
+        public PreparsedDocumentEntry getPersistedQueryDocument(final Object persistedQueryId, final ExecutionInput executionInput, final PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+            return getPersistedQueryDocumentAsync(persistedQueryId, executionInput, onCacheMiss).join();
+        }
+    }
+}
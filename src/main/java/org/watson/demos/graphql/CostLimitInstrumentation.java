@@ -0,0 +1,159 @@
+package org.watson.demos.graphql;
+
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Static cost analysis of each operation, before any field is fetched. Operations over budget are aborted.
+ * <li>Every field costs 1 plus the cost of its selections, multiplied by its page argument ({@code size} or {@code first}) when present,
+ * otherwise by the length of its longest list argument, ie {@code ids}.</li>
+ * <li>Aliased fields are costed once per alias, and the number of aliases is limited separately.</li>
+ * The cost of every operation is recorded in the {@code graphql.operation.cost} distribution summary, tagged by
+ * operation type and outcome.
+ */
+@Slf4j
+public class CostLimitInstrumentation extends SimpleInstrumentation {
+    static final Set<String> PAGE_ARGUMENTS = Set.of("size", "first");
+
+    private final long maxCost;
+    private final int maxDepth;
+    private final int maxAliases;
+    private final MeterRegistry registry;
+
+    public CostLimitInstrumentation(final long maxCost, final int maxDepth, final int maxAliases, @NonNull final MeterRegistry registry) {
+        this.maxCost = maxCost;
+        this.maxDepth = maxDepth;
+        this.maxAliases = maxAliases;
+        this.registry = registry;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(final InstrumentationExecuteOperationParameters parameters) {
+        final ExecutionContext context = parameters.getExecutionContext();
+        final Cost cost = calculate(context);
+        final String operation = context.getOperationDefinition().getOperation().name().toLowerCase(Locale.ROOT);
+        final String violation = cost.total > maxCost ? String.format("cost %d exceeds maximum %d", cost.total, maxCost) :
+                cost.depth > maxDepth ? String.format("depth %d exceeds maximum %d", cost.depth, maxDepth) :
+                        cost.aliases > maxAliases ? String.format("alias count %d exceeds maximum %d", cost.aliases, maxAliases) :
+                                null;
+
+        record(operation, violation == null ? "accepted" : "rejected", cost.total);
+        if (violation != null) {
+            log.debug("Rejected GraphQL operation. operation={}, cost={}, depth={}, aliases={}", operation, cost.total, cost.depth, cost.aliases);
+            throw new AbortExecutionException("Operation " + violation);
+        }
+        return super.beginExecuteOperation(parameters);
+    }
+
+    @NonNull
+    static Cost calculate(@NonNull final ExecutionContext context) {
+        final Cost cost = new Cost();
+        final Map<QueryVisitorFieldEnvironment, Long> childCosts = new HashMap<>();
+        final Map<QueryVisitorFieldEnvironment, Integer> depths = new HashMap<>();
+
+        QueryTraverser.newQueryTraverser()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getOperationDefinition().getName())
+                .coercedVariables(context.getCoercedVariables())
+                .build()
+                .visitPreOrder(new QueryVisitorStub() {
+                    @Override
+                    public void visitField(final QueryVisitorFieldEnvironment env) {
+                        if (env.isTypeNameIntrospectionField()) {
+                            return;
+                        }
+                        final int depth = env.getParentEnvironment() == null ? 1 : depths.getOrDefault(env.getParentEnvironment(), 0) + 1;
+                        depths.put(env, depth);
+                        cost.depth = Math.max(cost.depth, depth);
+                        if (env.getField().getAlias() != null) {
+                            cost.aliases++;
+                        }
+                    }
+                });
+
+        QueryTraverser.newQueryTraverser()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getOperationDefinition().getName())
+                .coercedVariables(context.getCoercedVariables())
+                .build()
+                .visitPostOrder(new QueryVisitorStub() {
+                    @Override
+                    public void visitField(final QueryVisitorFieldEnvironment env) {
+                        if (env.isTypeNameIntrospectionField()) {
+                            return;
+                        }
+                        final long fieldCost = saturatedMultiply(pageSize(env.getArguments()), saturatedAdd(1, childCosts.getOrDefault(env, 0L)));
+                        if (env.getParentEnvironment() == null) {
+                            cost.total = saturatedAdd(cost.total, fieldCost);
+                        } else {
+                            childCosts.merge(env.getParentEnvironment(), fieldCost, CostLimitInstrumentation::saturatedAdd);
+                        }
+                    }
+                });
+        return cost;
+    }
+
+    private void record(final String operation, final String outcome, final long cost) {
+        DistributionSummary.builder("graphql.operation.cost")
+                .description("Static cost of GraphQL operations")
+                .tags("operation", operation, "outcome", outcome)
+                .register(registry)
+                .record(cost);
+    }
+
+    private static long pageSize(@Nullable final Map<String, Object> arguments) {
+        if (arguments == null) {
+            return 1;
+        }
+        for (final String name : PAGE_ARGUMENTS) {
+            final Object value = arguments.get(name);
+            if (value instanceof Number) {
+                return Math.max(1, ((Number) value).longValue());
+            }
+        }
+        long longest = 1;
+        for (final Object value : arguments.values()) {
+            if (value instanceof Collection) {
+                longest = Math.max(longest, ((Collection<?>) value).size());
+            }
+        }
+        return longest;
+    }
+
+    private static long saturatedAdd(final long a, final long b) {
+        final long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(final long a, final long b) {
+        final long high = Math.multiplyHigh(a, b);
+        final long product = a * b;
+        return high != 0 || product < 0 ? Long.MAX_VALUE : product;
+    }
+
+    static class Cost {
+        long total;
+        int depth;
+        int aliases;
+    }
+}
@@ -0,0 +1,60 @@
+package org.watson.demos.graphql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * Runs GraphQL data fetchers off the request thread, so independent root fields of one document resolve concurrently.
+ * The pool and its queue are bounded. Once both are full, fetchers run on the calling thread instead of failing.
+ * Pool metrics are published under {@code executor.*} with {@code name=graphql.fetchers}.
+ * Fetchers see the request's locale, request attributes and trace context, as on the request thread.
+ * <li>[Optional] {@code server.graphql.executor.pool-size=} Threads used to run data fetchers.</li>
+ * <li>[Optional] {@code server.graphql.executor.queue-capacity=} Data fetchers queued before they run on the calling thread.</li>
+ */
+@Slf4j
+@Component
+public class DataFetcherExecutor implements DisposableBean {
+    static final String NAME = "graphql.fetchers";
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final Executor monitored;
+
+    public DataFetcherExecutor(final MeterRegistry registry,
+                               final Optional<CurrentTraceContext> traceContext,
+                               @Value("${server.graphql.executor.pool-size:8}") final int poolSize,
+                               @Value("${server.graphql.executor.queue-capacity:100}") final int queueCapacity) {
+        executor.setThreadNamePrefix("graphql-fetcher-");
+        executor.setCorePoolSize(Math.max(1, poolSize));
+        executor.setMaxPoolSize(Math.max(1, poolSize));
+        executor.setQueueCapacity(Math.max(0, queueCapacity));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(new RequestContextTaskDecorator(traceContext));
+        executor.initialize();
+        this.monitored = ExecutorServiceMetrics.monitor(registry, executor.getThreadPoolExecutor(), NAME, List.of());
+        log.debug("Created GraphQL data fetcher executor. poolSize={}, queueCapacity={}", poolSize, queueCapacity);
+    }
+
+    @NonNull
+    public <T> CompletableFuture<T> supply(@NonNull final Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, monitored);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
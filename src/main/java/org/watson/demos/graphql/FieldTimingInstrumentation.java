@@ -0,0 +1,63 @@
+package org.watson.demos.graphql;
+
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the time taken by each GraphQL data fetcher, including asynchronous ones, in the {@code graphql.field} timer.
+ * <li>Tagged by {@code field} as the schema coordinate, ie {@code Query.greetings}, so cardinality is bounded by the schema.
+ * Aliases, list indexes and argument values never become tags.</li>
+ * <li>Trivial property fetchers are only recorded for a {@code trivialSampleRate} fraction of invocations, and tagged {@code trivial=true}.</li>
+ * <li>{@code outcome} is {@code SUCCESS} or {@code ERROR}.</li>
+ * <li>The percentile histogram is only published when {@code percentileHistogram}, as it adds buckets to every timer.</li>
+ */
+public class FieldTimingInstrumentation extends SimpleInstrumentation {
+    static final String METRIC_NAME = "graphql.field";
+
+    private final MeterRegistry registry;
+    private final double trivialSampleRate;
+    private final boolean percentileHistogram;
+    private final double[] percentiles;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public FieldTimingInstrumentation(@NonNull final MeterRegistry registry, final double trivialSampleRate, final boolean percentileHistogram, @NonNull final double... percentiles) {
+        this.registry = registry;
+        this.trivialSampleRate = Math.min(1, Math.max(0, trivialSampleRate));
+        this.percentileHistogram = percentileHistogram;
+        this.percentiles = percentiles.clone();
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(final InstrumentationFieldFetchParameters parameters) {
+        final boolean trivial = parameters.isTrivialDataFetcher();
+        if (trivial && (trivialSampleRate == 0 || ThreadLocalRandom.current().nextDouble() >= trivialSampleRate)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        final String field = GraphQLTypeUtil.simplePrint(parameters.getExecutionStepInfo().getObjectType()) + '.' + parameters.getField().getName();
+        final long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((result, error) ->
+                timer(field, trivial, error == null).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    @NonNull
+    private Timer timer(final String field, final boolean trivial, final boolean success) {
+        final String outcome = success ? "SUCCESS" : "ERROR";
+        return timers.computeIfAbsent(field + '|' + trivial + '|' + outcome, k -> Timer.builder(METRIC_NAME)
+                .description("GraphQL data fetcher latency by schema coordinate")
+                .tags("field", field, "trivial", String.valueOf(trivial), "outcome", outcome)
+                .publishPercentileHistogram(percentileHistogram)
+                .publishPercentiles(percentiles)
+                .register(registry));
+    }
+}
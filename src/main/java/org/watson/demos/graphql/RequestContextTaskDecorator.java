@@ -0,0 +1,43 @@
+package org.watson.demos.graphql;
+
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Carries the submitting thread's locale, request attributes and trace context, with its MDC, onto the thread running
+ * the task. The running thread's own are restored afterwards, as a saturated pool runs tasks on the submitting thread.
+ */
+class RequestContextTaskDecorator implements TaskDecorator {
+    private final Optional<CurrentTraceContext> traceContext;
+
+    RequestContextTaskDecorator(@NonNull final Optional<CurrentTraceContext> traceContext) {
+        this.traceContext = traceContext;
+    }
+
+    @NonNull
+    @Override
+    public Runnable decorate(@NonNull final Runnable runnable) {
+        final LocaleContext locale = LocaleContextHolder.getLocaleContext();
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        final Runnable traced = traceContext.map(c -> c.wrap(runnable)).orElse(runnable);
+        return () -> {
+            final LocaleContext previousLocale = LocaleContextHolder.getLocaleContext();
+            final RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+            LocaleContextHolder.setLocaleContext(locale);
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                traced.run();
+            } finally {
+                LocaleContextHolder.setLocaleContext(previousLocale);
+                RequestContextHolder.setRequestAttributes(previousAttributes);
+            }
+        };
+    }
+}
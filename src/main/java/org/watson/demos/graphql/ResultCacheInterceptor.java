@@ -0,0 +1,163 @@
+package org.watson.demos.graphql;
+
+import graphql.ExecutionResult;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.watson.demos.events.GreetingEvent;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the results of query operations, keyed by the hash of the normalized document, the operation name and the variables.
+ * Documents differing only in whitespace, comments or commas share entries.
+ * <li>Mutations and subscriptions are never cached, nor are results with errors.</li>
+ * <li>Every {@link GreetingEvent}, published by the {@code createGreeting(s)} and {@code deleteGreetings} mutations,
+ * clears the cache once its transaction commits. Results computed while a clear happened are discarded.</li>
+ * <li>Hash-only persisted query requests carry no document to classify, so they always pass through.</li>
+ * Hits and misses are counted by {@code graphql.result.cache}, tagged by {@code result}.
+ */
+@Slf4j
+public class ResultCacheInterceptor implements WebGraphQlInterceptor {
+    private static final String ANONYMOUS = "";
+
+    private final BoundedCache<String, Normalized> documents;
+    private final BoundedCache<Key, ExecutionResult> results;
+    private final Counter hits;
+    private final Counter misses;
+    private long generation;
+
+    public ResultCacheInterceptor(final int maxResults, final int maxDocuments, @NonNull final MeterRegistry registry) {
+        this.documents = new BoundedCache<>(Math.max(0, maxDocuments));
+        this.results = new BoundedCache<>(Math.max(0, maxResults));
+        this.hits = registry.counter("graphql.result.cache", "result", "hit");
+        this.misses = registry.counter("graphql.result.cache", "result", "miss");
+    }
+
+    @NonNull
+    @Override
+    public Mono<WebGraphQlResponse> intercept(@NonNull final WebGraphQlRequest request, @NonNull final Chain chain) {
+        final Normalized normalized = normalize(request.getDocument());
+        if (normalized == null || !normalized.isQuery(request.getOperationName())) {
+            return chain.next(request);
+        }
+
+        final Key key = new Key(normalized.hash, Objects.requireNonNullElse(request.getOperationName(), ANONYMOUS), request.getVariables());
+        final ExecutionResult cached = results.get(key);
+        if (cached != null) {
+            hits.increment();
+            return Mono.just(new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(request.toExecutionInput(), cached)));
+        }
+
+        misses.increment();
+        final long started = generation();
+        return chain.next(request)
+                .doOnNext(response -> {
+                    final ExecutionResult result = response.getExecutionResult();
+                    if (result.isDataPresent() && result.getErrors().isEmpty()) {
+                        put(started, key, result);
+                    }
+                });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEvent(@NonNull final GreetingEvent event) {
+        generation++;
+        results.clear();
+        log.debug("Cleared GraphQL result cache. type={}, generation={}", event.getType(), generation);
+    }
+
+    int size() {
+        return results.size();
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized void put(final long started, final Key key, final ExecutionResult result) {
+        if (started == generation) {
+            results.put(key, result);
+        }
+    }
+
+    @Nullable
+    private Normalized normalize(@Nullable final String document) {
+        if (document == null || document.isBlank()) {
+            return null;
+        }
+        Normalized normalized = documents.get(document);
+        if (normalized == null) {
+            try {
+                normalized = Normalized.of(Parser.parse(document));
+            } catch (InvalidSyntaxException e) {
+                return null;
+            }
+            documents.put(document, normalized);
+        }
+        return normalized;
+    }
+
+    private static class Normalized {
+        private final String hash;
+        private final Set<String> queries;
+        private final int operations;
+
+        private Normalized(final String hash, final Set<String> queries, final int operations) {
+            this.hash = hash;
+            this.queries = queries;
+            this.operations = operations;
+        }
+
+        private static Normalized of(final Document document) {
+            final List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+            return new Normalized(
+                    sha256(AstPrinter.printAstCompact(document)),
+                    operations.stream()
+                            .filter(o -> o.getOperation() == OperationDefinition.Operation.QUERY)
+                            .map(o -> Objects.requireNonNullElse(o.getName(), ANONYMOUS))
+                            .collect(Collectors.toUnmodifiableSet()),
+                    operations.size());
+        }
+
+        private static String sha256(final String normalized) {
+            try {
+                return new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8))).toString(16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private boolean isQuery(@Nullable final String operationName) {
+            return operationName == null ? operations == 1 && queries.size() == 1 : queries.contains(operationName);
+        }
+    }
+
+    @lombok.Value
+    private static class Key {
+        String hash;
+        String operationName;
+        Map<String, Object> variables;
+    }
+}
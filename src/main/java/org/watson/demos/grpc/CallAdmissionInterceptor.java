@@ -0,0 +1,114 @@
+package org.watson.demos.grpc;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Context;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Admits gRPC calls on the transport thread, before any service code runs, then moves each admitted call onto the pool.
+ * <li>An admitted call holds a permit until it completes or is cancelled. Once {@code limit} calls are in flight, new
+ * calls are closed with {@link Status#RESOURCE_EXHAUSTED} and counted in {@code grpc.server.rejected}.</li>
+ * <li>A call's callbacks run in order, one at a time, so each call holds at most one pool task. A pool with
+ * {@code limit} threads plus queue slots never rejects an admitted call's work.</li>
+ */
+@Slf4j
+class CallAdmissionInterceptor implements ServerInterceptor {
+    static final String REJECTED_METRIC = "grpc.server.rejected";
+
+    private final Executor pool;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    CallAdmissionInterceptor(@NonNull final Executor pool, final int limit, @NonNull final MeterRegistry registry) {
+        this.pool = pool;
+        this.permits = new Semaphore(Math.max(1, limit));
+        this.rejected = registry.counter(REJECTED_METRIC);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(final ServerCall<ReqT, RespT> call,
+                                                                 final Metadata headers,
+                                                                 final ServerCallHandler<ReqT, RespT> next) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("gRPC server is at capacity"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return new PooledListener<>(call, headers, next);
+    }
+
+    /**
+     * Starts the call and delivers its callbacks on the pool, in the order the transport delivered them.
+     */
+    private final class PooledListener<ReqT, RespT> extends ServerCall.Listener<ReqT> {
+        private final ServerCall<ReqT, RespT> call;
+        private final Executor serial = MoreExecutors.newSequentialExecutor(pool);
+        private final Context context = Context.current();
+        private volatile ServerCall.Listener<ReqT> delegate;
+
+        private PooledListener(final ServerCall<ReqT, RespT> call, final Metadata headers, final ServerCallHandler<ReqT, RespT> next) {
+            this.call = call;
+            execute(() -> delegate = next.startCall(call, headers));
+        }
+
+        @Override
+        public void onMessage(final ReqT message) {
+            deliver(listener -> listener.onMessage(message));
+        }
+
+        @Override
+        public void onHalfClose() {
+            deliver(ServerCall.Listener::onHalfClose);
+        }
+
+        @Override
+        public void onReady() {
+            deliver(ServerCall.Listener::onReady);
+        }
+
+        @Override
+        public void onCancel() {
+            deliver(ServerCall.Listener::onCancel);
+            serial.execute(permits::release);
+        }
+
+        @Override
+        public void onComplete() {
+            deliver(ServerCall.Listener::onComplete);
+            serial.execute(permits::release);
+        }
+
+        /** Skipped when the call failed to start, as the call is already closed. */
+        private void deliver(final Consumer<ServerCall.Listener<ReqT>> callback) {
+            execute(() -> {
+                if (delegate != null) {
+                    callback.accept(delegate);
+                }
+            });
+        }
+
+        private void execute(final Runnable callback) {
+            serial.execute(context.wrap(() -> {
+                try {
+                    callback.run();
+                } catch (RuntimeException e) {
+                    log.warn("gRPC call failed. method={}", call.getMethodDescriptor().getFullMethodName(), e);
+                    call.close(Status.fromThrowable(e), new Metadata());
+                }
+            }));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.watson.demos.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves {@link BindableService}s over gRPC, in process, on a port of its own beside the servlet container.
+ * Calls run on a bounded pool, never on the transport thread. Once {@code poolSize + queueCapacity} calls are in flight,
+ * new calls fail fast with {@code RESOURCE_EXHAUSTED}, see {@link CallAdmissionInterceptor}.
+ * Pool metrics are published under {@code executor.*} with {@code name=grpc.server}.
+ */
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+    static final String NAME = "grpc.server";
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final Server server;
+    private final Duration shutdownGracePeriod;
+    private volatile boolean running;
+
+    public GrpcServer(@NonNull final ServerBuilder<?> builder,
+                      @NonNull final List<BindableService> services,
+                      @NonNull final MeterRegistry registry,
+                      final int poolSize,
+                      final int queueCapacity,
+                      @NonNull final Duration shutdownGracePeriod) {
+        executor.setThreadNamePrefix("grpc-");
+        executor.setCorePoolSize(Math.max(1, poolSize));
+        executor.setMaxPoolSize(Math.max(1, poolSize));
+        executor.setQueueCapacity(Math.max(0, queueCapacity));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        builder.directExecutor();
+        builder.intercept(new CallAdmissionInterceptor(ExecutorServiceMetrics.monitor(registry, executor.getThreadPoolExecutor(), NAME, List.of()),
+                Math.max(1, poolSize) + Math.max(0, queueCapacity), registry));
+        services.forEach(builder::addService);
+        this.server = builder.build();
+        this.shutdownGracePeriod = shutdownGracePeriod;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("gRPC server failed to start", e);
+        }
+        running = true;
+        log.info("gRPC server started. port={}, services={}", server.getPort(), server.getServices().size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownGracePeriod.toMillis(), TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+        }
+        log.info("gRPC server stopped.");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Port the server listens on, which is only known once started when configured as {@code 0}. */
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,43 @@
+package org.watson.demos.models;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * Single row handing out {@link GreetingChange#getToken() change tokens}. Writers lock the row until their transaction
+ * completes, so tokens commit in the order they were allocated, on every node sharing the database.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // For @Entity
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+@Getter
+@Entity
+public class ChangeTokenCounter {
+    public static final long ID = 1;
+
+    public static ChangeTokenCounter startingAfter(final long token) {
+        return new ChangeTokenCounter(ID, token);
+    }
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long latest;
+
+    /**
+     * @return First of {@code count} consecutive tokens.
+     */
+    public long allocate(final int count) {
+        final long first = latest + 1;
+        latest += count;
+        return first;
+    }
+}
@@ -15,6 +15,7 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotBlank;
@@ -27,7 +28,8 @@ import java.util.UUID;
 @ToString(callSuper = true)
 @Getter
 @Entity
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"content", "locale"}))
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"content", "locale"}),
+        indexes = @Index(columnList = "created, id")) // Keyset seek for GreetingConnection
 public class Greeting extends ZonedAuditable<UUID> implements Localizable {
 
     /** For GraphQL: Writable field constructor. */
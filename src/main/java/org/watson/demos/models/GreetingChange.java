@@ -0,0 +1,79 @@
+package org.watson.demos.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Change-log entry for a {@link Greeting}. The {@link #token} is monotonic, so consumers can request every change
+ * after the last token they have seen.<p/>
+ * Tokens come from the {@link ChangeTokenCounter}, under the writing transaction, so they commit in order and a reader
+ * never skips one. They are assigned before insert, so change-log inserts are batched.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // For @Entity
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+@Builder
+@ToString
+@Getter
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class GreetingChange implements Persistable<Long>, Serializable {
+
+    public static GreetingChange of(final long token, final Type type, final UUID greetingId) {
+        return GreetingChange.builder().token(token).type(type).greetingId(greetingId).build();
+    }
+
+    @Id
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+    private Long token;
+
+    @Column(columnDefinition = "uuid", nullable = false, updatable = false, length = 36)
+    private UUID greetingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 7)
+    private Type type;
+
+    @CreatedDate
+    @Column(updatable = false)
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+    private Instant changed;
+
+    @JsonIgnore
+    @Override
+    public Long getId() {
+        return token;
+    }
+
+    /** Entries are only ever inserted; the assigned token would otherwise make Spring Data merge each one. */
+    @JsonIgnore
+    @Override
+    public boolean isNew() {
+        return changed == null;
+    }
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,58 @@
+package org.watson.demos.models;
+
+import lombok.Builder;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Relay-style connection over greetings in (created, id) order.
+ */
+@lombok.Value
+@Builder
+public class GreetingConnection implements Localizable {
+    List<Edge> edges;
+    PageInfo pageInfo;
+    /** Filter the connection was read with, so totalCount can be resolved only when requested. */
+    @Nullable
+    Locale locale;
+
+    /**
+     * @param greetings Up to {@code first + 1} greetings, the extra one only signals that a next page exists.
+     */
+    public static GreetingConnection of(final List<Greeting> greetings, final int first, final boolean hasPreviousPage, @Nullable final Locale locale) {
+        final List<Edge> edges = greetings.stream()
+                .limit(first)
+                .map(g -> new Edge(GreetingCursor.of(g).encode(), g))
+                .collect(Collectors.toUnmodifiableList());
+        return GreetingConnection.builder()
+                .edges(edges)
+                .pageInfo(PageInfo.builder()
+                        .hasNextPage(greetings.size() > first)
+                        .hasPreviousPage(hasPreviousPage)
+                        .startCursor(edges.isEmpty() ? null : edges.get(0).getCursor())
+                        .endCursor(edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor())
+                        .build())
+                .locale(locale)
+                .build();
+    }
+
+    @lombok.Value
+    public static class Edge {
+        String cursor;
+        Greeting node;
+    }
+
+    @lombok.Value
+    @Builder
+    public static class PageInfo {
+        boolean hasNextPage;
+        boolean hasPreviousPage;
+        @Nullable
+        String startCursor;
+        @Nullable
+        String endCursor;
+    }
+}
@@ -0,0 +1,48 @@
+package org.watson.demos.models;
+
+import org.springframework.lang.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position of a {@link Greeting} in (created, id) order.
+ */
+@lombok.Value
+public class GreetingCursor {
+    private static final char SEPARATOR = '|';
+
+    @NonNull
+    ZonedDateTime created;
+    @NonNull
+    UUID id;
+
+    public static GreetingCursor of(final Greeting greeting) {
+        return new GreetingCursor(greeting.getCreated(), greeting.getId());
+    }
+
+    /**
+     * @throws IllegalArgumentException when {@code cursor} was not produced by {@link #encode()}.
+     */
+    public static GreetingCursor decode(final String cursor) {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int split = decoded.indexOf(SEPARATOR);
+            return new GreetingCursor(
+                    Instant.parse(decoded.substring(0, split)).atZone(ZoneOffset.UTC),
+                    UUID.fromString(decoded.substring(split + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException(String.format("cursor '%s' is not valid", cursor), e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((created.toInstant().toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
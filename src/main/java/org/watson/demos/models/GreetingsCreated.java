@@ -0,0 +1,26 @@
+package org.watson.demos.models;
+
+import org.springframework.lang.NonNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Minimal result of a bulk create: how many greetings were created, and their ids in creation order.
+ * Ids are random UUIDs, so there is no range to report in place of the list.
+ */
+@lombok.Value
+public class GreetingsCreated {
+    int count;
+    List<UUID> ids;
+
+    @NonNull
+    public static GreetingsCreated of(@NonNull final Collection<? extends Identifiable<UUID>> created) {
+        final List<UUID> ids = created.stream()
+                .map(Identifiable::getId)
+                .collect(Collectors.toUnmodifiableList());
+        return new GreetingsCreated(ids.size(), ids);
+    }
+}
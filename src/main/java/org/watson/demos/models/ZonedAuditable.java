@@ -2,6 +2,7 @@ package org.watson.demos.models;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AccessLevel;
 import lombok.Data;
@@ -17,6 +18,7 @@ import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
+import org.watson.demos.serializers.AuditTimestampSerializer;
 
 import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
@@ -38,6 +40,7 @@ import static java.time.ZoneOffset.UTC;
 abstract class ZonedAuditable<ID> implements Auditable<Void, ID, Instant>, Identifiable<ID>, Persistable<ID>, Serializable {
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC", shape = JsonFormat.Shape.STRING)
+    @JsonSerialize(using = AuditTimestampSerializer.class)
     @Schema(accessMode = Schema.AccessMode.READ_ONLY)
     private ZonedDateTime created, modified;
 
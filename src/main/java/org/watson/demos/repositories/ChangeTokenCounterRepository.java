@@ -0,0 +1,16 @@
+package org.watson.demos.repositories;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import org.watson.demos.models.ChangeTokenCounter;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface ChangeTokenCounterRepository extends CrudRepository<ChangeTokenCounter, Long> {
+    /** Holds the row lock until the current transaction completes. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ChangeTokenCounter> findLockedById(long id);
+}
@@ -0,0 +1,16 @@
+package org.watson.demos.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.stereotype.Repository;
+import org.watson.demos.models.GreetingChange;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GreetingChangeRepository extends PagingAndSortingRepository<GreetingChange, Long> {
+    List<GreetingChange> findAllByTokenGreaterThanOrderByTokenAsc(long token, Pageable pageable);
+
+    Optional<GreetingChange> findFirstByOrderByTokenDesc();
+}
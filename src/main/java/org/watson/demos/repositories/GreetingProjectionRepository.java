@@ -0,0 +1,28 @@
+package org.watson.demos.repositories;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingCursor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+public interface GreetingProjectionRepository {
+    /**
+     * Selects only the requested {@link Greeting} attributes. Unknown attributes are ignored and unselected
+     * attributes are left {@code null} in the returned, detached, greetings.
+     */
+    @NonNull
+    Page<Greeting> findAllProjected(@NonNull Collection<String> attributes, @Nullable Locale locale, @NonNull Pageable pageable);
+
+    /**
+     * Keyset seek in (created, id) order. Reads at most {@code limit} greetings positioned strictly after the cursor,
+     * or from the start when there is no cursor, without an OFFSET scan.
+     */
+    @NonNull
+    List<Greeting> findAllAfter(@Nullable GreetingCursor after, @Nullable Locale locale, int limit);
+}
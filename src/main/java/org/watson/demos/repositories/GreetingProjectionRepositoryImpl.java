@@ -0,0 +1,118 @@
+package org.watson.demos.repositories;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+class GreetingProjectionRepositoryImpl implements GreetingProjectionRepository {
+    static final String ID = "id";
+    static final String CONTENT = "content";
+    static final String LOCALE = "locale";
+    static final String CREATED = "created";
+    static final String MODIFIED = "modified";
+    private static final Set<String> ATTRIBUTES = Set.of(ID, CONTENT, LOCALE, CREATED, MODIFIED);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @NonNull
+    @Override
+    public Page<Greeting> findAllProjected(@NonNull final Collection<String> attributes, @Nullable final Locale locale, @NonNull final Pageable pageable) {
+        final Set<String> selected = attributes.stream()
+                .filter(ATTRIBUTES::contains)
+                .collect(Collectors.toUnmodifiableSet());
+        final Set<String> selection = selected.isEmpty() ? Set.of(ID) : selected;
+
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        final Root<Greeting> root = query.from(Greeting.class);
+        query.multiselect(selection.stream()
+                .map(a -> root.get(a).alias(a))
+                .collect(Collectors.toUnmodifiableList()));
+        if (locale != null) {
+            query.where(builder.equal(root.get(LOCALE), locale));
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        final TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        final List<Greeting> content = typedQuery.getResultList().stream()
+                .map(t -> toGreeting(selection, t))
+                .collect(Collectors.toUnmodifiableList());
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(locale));
+    }
+
+    @NonNull
+    @Override
+    public List<Greeting> findAllAfter(@Nullable final GreetingCursor after, @Nullable final Locale locale, final int limit) {
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Greeting> query = builder.createQuery(Greeting.class);
+        final Root<Greeting> root = query.from(Greeting.class);
+        final List<Predicate> predicates = new ArrayList<>(2);
+        if (locale != null) {
+            predicates.add(builder.equal(root.get(LOCALE), locale));
+        }
+        if (after != null) {
+            final Path<ZonedDateTime> created = root.get(CREATED);
+            predicates.add(builder.or(
+                    builder.greaterThan(created, after.getCreated()),
+                    builder.and(builder.equal(created, after.getCreated()), builder.greaterThan(root.get(ID), after.getId()))));
+        }
+        query.select(root)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(root.get(CREATED)), builder.asc(root.get(ID)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private long count(@Nullable final Locale locale) {
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        final Root<Greeting> root = query.from(Greeting.class);
+        query.select(builder.count(root));
+        if (locale != null) {
+            query.where(builder.equal(root.get(LOCALE), locale));
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Greeting toGreeting(final Set<String> selection, final Tuple tuple) {
+        return Greeting.builder()
+                .id(selection.contains(ID) ? tuple.get(ID, UUID.class) : null)
+                .content(selection.contains(CONTENT) ? tuple.get(CONTENT, String.class) : null)
+                .locale(selection.contains(LOCALE) ? tuple.get(LOCALE, Locale.class) : null)
+                .created(selection.contains(CREATED) ? tuple.get(CREATED, ZonedDateTime.class) : null)
+                .modified(selection.contains(MODIFIED) ? tuple.get(MODIFIED, ZonedDateTime.class) : null)
+                .build();
+    }
+}
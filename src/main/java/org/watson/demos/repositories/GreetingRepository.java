@@ -10,6 +10,8 @@ import java.util.Locale;
 import java.util.UUID;
 
 @Repository
-public interface GreetingRepository extends PagingAndSortingRepository<Greeting, UUID> {
+public interface GreetingRepository extends PagingAndSortingRepository<Greeting, UUID>, GreetingProjectionRepository {
     Page<Greeting> findAllByLocale(Locale locale, Pageable pageable);
+
+    long countByLocale(Locale locale);
 }
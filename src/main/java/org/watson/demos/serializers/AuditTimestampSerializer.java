@@ -0,0 +1,91 @@
+package org.watson.demos.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes audit timestamps as UTC {@code yyyy-MM-dd'T'HH:mm:ss.SSS'Z'}, computed from the epoch second into a per-thread
+ * buffer, without a {@link DateTimeFormatter} or intermediate {@link String}.
+ * Years outside {@code 0001-9999} fall back to the {@link DateTimeFormatter}.
+ * <li>[Optional] {@code server.jackson.audit-timestamps.epoch-millis=} Write epoch milliseconds numbers instead.</li>
+ * The property applies when the serializer is created by Spring, which Boot's {@code ObjectMapper} does for {@code @JsonSerialize(using=)}.
+ */
+public class AuditTimestampSerializer extends StdScalarSerializer<ZonedDateTime> {
+    static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+    private static final int LENGTH = 24;
+    private static final ThreadLocal<char[]> CHARS = ThreadLocal.withInitial(() -> new char[LENGTH]);
+    private static final long MIN_SECOND = -62135596800L; // 0001-01-01T00:00:00Z
+    private static final long MAX_SECOND = 253402300799L; // 9999-12-31T23:59:59Z
+
+    private final boolean epochMillis;
+
+    public AuditTimestampSerializer() {
+        this(false);
+    }
+
+    @Autowired
+    public AuditTimestampSerializer(@Value("${server.jackson.audit-timestamps.epoch-millis:false}") final boolean epochMillis) {
+        super(ZonedDateTime.class);
+        this.epochMillis = epochMillis;
+    }
+
+    @Override
+    public void serialize(final ZonedDateTime value, final JsonGenerator generator, final SerializerProvider provider) throws IOException {
+        final long epochSecond = value.toEpochSecond();
+        final int millis = value.getNano() / 1_000_000;
+        if (epochMillis) {
+            generator.writeNumber(epochSecond * 1000 + millis);
+        } else if (epochSecond < MIN_SECOND || epochSecond > MAX_SECOND) {
+            generator.writeString(FORMATTER.format(value));
+        } else {
+            final char[] chars = CHARS.get();
+            format(chars, epochSecond, millis);
+            generator.writeString(chars, 0, LENGTH);
+        }
+    }
+
+    /** Civil date from days since epoch, per Howard Hinnant's {@code civil_from_days}. */
+    private static void format(final char[] chars, final long epochSecond, final int millis) {
+        final long days = Math.floorDiv(epochSecond, 86_400L);
+        final int secondOfDay = (int) Math.floorMod(epochSecond, 86_400L);
+        final long z = days + 719_468;
+        final long era = Math.floorDiv(z, 146_097);
+        final int dayOfEra = (int) (z - era * 146_097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int mp = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        final int month = mp < 10 ? mp + 3 : mp - 9;
+        final int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        digits(chars, 0, year, 4);
+        chars[4] = '-';
+        digits(chars, 5, month, 2);
+        chars[7] = '-';
+        digits(chars, 8, day, 2);
+        chars[10] = 'T';
+        digits(chars, 11, secondOfDay / 3600, 2);
+        chars[13] = ':';
+        digits(chars, 14, secondOfDay / 60 % 60, 2);
+        chars[16] = ':';
+        digits(chars, 17, secondOfDay % 60, 2);
+        chars[19] = '.';
+        digits(chars, 20, millis, 3);
+        chars[23] = 'Z';
+    }
+
+    private static void digits(final char[] chars, final int offset, int value, final int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.watson.demos.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes a {@link Locale} as {@link Locale#toString()}, like Jackson's default, from a pre-encoded {@link SerializedString}
+ * cached per {@link Locale}. The cache is bounded by {@link #MAX_CACHED}, after which values are written uncached.
+ */
+public class LocaleSerializer extends StdScalarSerializer<Locale> {
+    static final int MAX_CACHED = 1024;
+
+    private final Map<Locale, SerializableString> cache = new ConcurrentHashMap<>();
+
+    public LocaleSerializer() {
+        super(Locale.class);
+    }
+
+    @Override
+    public void serialize(final Locale value, final JsonGenerator generator, final SerializerProvider provider) throws IOException {
+        SerializableString serialized = cache.get(value);
+        if (serialized == null) {
+            serialized = new SerializedString(value.toString());
+            if (cache.size() < MAX_CACHED) {
+                cache.putIfAbsent(value, serialized);
+            }
+        }
+        generator.writeString(serialized);
+    }
+}
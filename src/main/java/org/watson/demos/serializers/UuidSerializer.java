@@ -0,0 +1,63 @@
+package org.watson.demos.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Writes a {@link UUID} in its canonical 36 character form, from a per-thread buffer rather than an intermediate
+ * {@link String} or {@code char[]}. Formats that write binary natively, ie CBOR or Smile, get the 16 raw bytes,
+ * as with Jackson's own {@code UUIDSerializer}, except for a {@link TokenBuffer}.
+ */
+public class UuidSerializer extends StdScalarSerializer<UUID> {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int LENGTH = 36;
+    private static final ThreadLocal<char[]> CHARS = ThreadLocal.withInitial(() -> new char[LENGTH]);
+    private static final ThreadLocal<byte[]> BYTES = ThreadLocal.withInitial(() -> new byte[16]);
+
+    public UuidSerializer() {
+        super(UUID.class);
+    }
+
+    @Override
+    public void serialize(final UUID value, final JsonGenerator generator, final SerializerProvider provider) throws IOException {
+        // TokenBuffer claims native binary, but backs valueToTree and convertValue, which must see the canonical String.
+        if (!(generator instanceof TokenBuffer) && generator.canWriteBinaryNatively()) {
+            final byte[] bytes = BYTES.get();
+            putLong(bytes, 0, value.getMostSignificantBits());
+            putLong(bytes, 8, value.getLeastSignificantBits());
+            generator.writeBinary(bytes);
+            return;
+        }
+        final char[] chars = CHARS.get();
+        final long msb = value.getMostSignificantBits();
+        final long lsb = value.getLeastSignificantBits();
+        hex(chars, 0, msb >>> 32, 8);
+        chars[8] = '-';
+        hex(chars, 9, msb >>> 16, 4);
+        chars[13] = '-';
+        hex(chars, 14, msb, 4);
+        chars[18] = '-';
+        hex(chars, 19, lsb >>> 48, 4);
+        chars[23] = '-';
+        hex(chars, 24, lsb, 12);
+        generator.writeString(chars, 0, LENGTH);
+    }
+
+    private static void hex(final char[] chars, final int offset, long value, final int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static void putLong(final byte[] bytes, final int offset, final long value) {
+        for (int i = 0; i < 8; i++) {
+            bytes[offset + i] = (byte) (value >>> (56 - 8 * i));
+        }
+    }
+}
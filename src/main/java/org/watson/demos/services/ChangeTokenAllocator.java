@@ -0,0 +1,65 @@
+package org.watson.demos.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.watson.demos.models.ChangeTokenCounter;
+import org.watson.demos.models.GreetingChange;
+import org.watson.demos.repositories.ChangeTokenCounterRepository;
+import org.watson.demos.repositories.GreetingChangeRepository;
+
+/**
+ * Allocates change tokens from the {@link ChangeTokenCounter} row, locked until the writing transaction completes.
+ * Writers on any node commit their tokens in allocation order, so a reader that sees a token already sees every
+ * earlier one.
+ */
+@Slf4j
+@Component
+class ChangeTokenAllocator {
+    private final ChangeTokenCounterRepository counterRepository;
+    private final GreetingChangeRepository changeRepository;
+    private final TransactionTemplate separately;
+
+    ChangeTokenAllocator(@NonNull final ChangeTokenCounterRepository counterRepository,
+                         @NonNull final GreetingChangeRepository changeRepository,
+                         @NonNull final PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.changeRepository = changeRepository;
+        this.separately = new TransactionTemplate(transactionManager);
+        this.separately.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Must run within the writing transaction, which holds the counter until it completes.
+     *
+     * @return First of {@code count} consecutive tokens.
+     */
+    long allocate(final int count) {
+        return counterRepository.findLockedById(ChangeTokenCounter.ID)
+                .or(() -> {
+                    createCounter();
+                    return counterRepository.findLockedById(ChangeTokenCounter.ID);
+                })
+                .orElseThrow()
+                .allocate(count);
+    }
+
+    /** Starts after any tokens stored before the counter existed. Commits on its own, so other writers can see it. */
+    private void createCounter() {
+        try {
+            separately.executeWithoutResult(status -> counterRepository.save(ChangeTokenCounter.startingAfter(latestToken())));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Change token counter was created by another writer. message={}", e.getMessage());
+        }
+    }
+
+    private long latestToken() {
+        return changeRepository.findFirstByOrderByTokenDesc()
+                .map(GreetingChange::getToken)
+                .orElse(0L);
+    }
+}
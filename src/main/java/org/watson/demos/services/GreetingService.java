@@ -2,18 +2,29 @@ package org.watson.demos.services;
 
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.watson.demos.events.GreetingEvent;
 import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingChange;
+import org.watson.demos.models.GreetingConnection;
+import org.watson.demos.models.GreetingCursor;
 import org.watson.demos.models.GreetingProbe;
+import org.watson.demos.repositories.GreetingChangeRepository;
 import org.watson.demos.repositories.GreetingRepository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
 @Timed("service.greeting")
@@ -22,11 +33,19 @@ import java.util.stream.StreamSupport;
 public class GreetingService {
 
     private final GreetingRepository repository;
+    private final GreetingChangeRepository changeRepository;
+    private final ApplicationEventPublisher publisher;
+    private final ChangeTokenAllocator tokens;
 
     public Optional<Greeting> getOne(final UUID id) {
         return repository.findById(id);
     }
 
+    public List<Greeting> getAllById(@NonNull final Iterable<UUID> ids) {
+        return StreamSupport.stream(repository.findAllById(ids).spliterator(), false)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
     public Page<Greeting> getAll(@NonNull final GreetingProbe probe, @NonNull final Pageable pageable) {
         if (probe.getLocale() != null) {
             return repository.findAllByLocale(probe.getLocale(), pageable);
@@ -35,12 +54,58 @@ public class GreetingService {
         }
     }
 
+    /** Loads only the requested {@code attributes} of each greeting, leaving the others {@code null}. */
+    public Page<Greeting> getAll(@NonNull final GreetingProbe probe, @NonNull final Pageable pageable, @NonNull final Collection<String> attributes) {
+        return repository.findAllProjected(attributes, probe.getLocale(), pageable);
+    }
+
+    /**
+     * @param after Cursor of the last greeting already seen, or {@code null} for the first page.
+     * @throws IllegalArgumentException when {@code after} is not a valid cursor.
+     */
+    public GreetingConnection getConnection(@NonNull final GreetingProbe probe, final int first, @Nullable final String after) {
+        final GreetingCursor cursor = after == null ? null : GreetingCursor.decode(after);
+        final List<Greeting> greetings = repository.findAllAfter(cursor, probe.getLocale(), first + 1);
+        return GreetingConnection.of(greetings, first, cursor != null, probe.getLocale());
+    }
+
+    public long count(@NonNull final GreetingProbe probe) {
+        return probe.getLocale() != null ? repository.countByLocale(probe.getLocale()) : repository.count();
+    }
+
+    /**
+     * Changes after {@code since}. Tokens commit in order, so none are skipped.
+     */
+    public List<GreetingChange> getChanges(final long since, final int size) {
+        return changeRepository.findAllByTokenGreaterThanOrderByTokenAsc(since, PageRequest.ofSize(size));
+    }
+
+    @Transactional
     public Collection<Greeting> createAll(@NonNull final Iterable<Greeting> greetings) {
-        return StreamSupport.stream(repository.saveAll(greetings).spliterator(), false)
+        final List<Greeting> created = StreamSupport.stream(repository.saveAll(greetings).spliterator(), false)
                 .collect(Collectors.toUnmodifiableList());
+        recordChanges(GreetingChange.Type.CREATED, created.stream().map(Greeting::getId).collect(Collectors.toList()));
+        publisher.publishEvent(GreetingEvent.created(created));
+        return created;
     }
 
+    @Transactional
     public void deleteAll(@NonNull final Iterable<UUID> ids) {
         repository.deleteAllById(ids);
+        final List<UUID> deleted = StreamSupport.stream(ids.spliterator(), false)
+                .collect(Collectors.toList());
+        recordChanges(GreetingChange.Type.DELETED, deleted);
+        publisher.publishEvent(GreetingEvent.deleted(deleted));
+    }
+
+    private void recordChanges(final GreetingChange.Type type, final List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        final long first = tokens.allocate(ids.size());
+        final List<GreetingChange> changes = IntStream.range(0, ids.size())
+                .mapToObj(i -> GreetingChange.of(first + i, type, ids.get(i)))
+                .collect(Collectors.toList());
+        changeRepository.saveAll(changes);
     }
 }
@@ -0,0 +1,209 @@
+package org.watson.demos.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.watson.demos.events.GreetingEvent;
+import org.watson.demos.models.GreetingProbe;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes {@link GreetingEvent}s to Server-Sent-Event subscribers once the publishing transaction commits.<p/>
+ * Each subscriber has its own bounded buffer, drained by a dedicated executor, so a slow client never blocks a writer.
+ * A subscriber whose buffer is full is disconnected, and may reconnect and catch up through {@code /greetings/changes}.
+ * <li>[Optional] {@code server.greetings.stream.buffer-size=} Frames buffered per subscriber before it is disconnected.</li>
+ * <li>[Optional] {@code server.greetings.stream.heartbeat=} Interval between heartbeat comment frames.</li>
+ * <li>[Optional] {@code server.greetings.stream.timeout=} Lifetime of a subscription before the client must reconnect.</li>
+ * <li>[Optional] {@code server.greetings.stream.pool-size=} Threads used to write frames to subscribers.</li>
+ */
+@Slf4j
+@Service
+public class GreetingStreamService implements DisposableBean, SchedulingConfigurer {
+    static final String CREATED = "created";
+    static final String DELETED = "deleted";
+    static final String HEARTBEAT = "heartbeat";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolTaskExecutor executor;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final Counter slowDisconnects;
+    private final Counter errorDisconnects;
+
+    public GreetingStreamService(final TaskExecutorBuilder taskExecutorBuilder,
+                                 final MeterRegistry registry,
+                                 @Value("${server.greetings.stream.buffer-size:256}") final int bufferSize,
+                                 @Value("${server.greetings.stream.timeout:PT30M}") final Duration timeout,
+                                 @Value("${server.greetings.stream.pool-size:4}") final int poolSize,
+                                 @Value("${server.greetings.stream.heartbeat:15s}") final Duration heartbeat) {
+        this.executor = taskExecutorBuilder
+                .threadNamePrefix("greeting-stream-")
+                .corePoolSize(Math.max(1, poolSize))
+                .maxPoolSize(Math.max(1, poolSize))
+                .build();
+        this.executor.initialize();
+        this.bufferSize = Math.max(1, bufferSize);
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        registry.gaugeCollectionSize("greetings.stream.subscribers", Set.of(), subscribers);
+        this.slowDisconnects = registry.counter("greetings.stream.disconnects", "reason", "slow");
+        this.errorDisconnects = registry.counter("greetings.stream.disconnects", "reason", "error");
+    }
+
+    @NonNull
+    public SseEmitter subscribe(@NonNull final GreetingProbe probe) {
+        final SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        final Subscriber subscriber = new Subscriber(emitter, probe.getLocale());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Added stream subscriber. locale={}, subscribers={}", probe.getLocale(), subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(@NonNull final GreetingEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED:
+                event.getGreetings().forEach(g -> subscribers.forEach(s -> {
+                    if (s.locale == null || s.locale.equals(g.getLocale())) {
+                        s.offer(new Frame(CREATED, g));
+                    }
+                }));
+                break;
+            case DELETED:
+                // Deleted greetings no longer have a locale to filter on, so every subscriber is told.
+                event.getIds().forEach(id -> {
+                    final Frame frame = new Frame(DELETED, Map.of("id", id));
+                    subscribers.forEach(s -> s.offer(frame));
+                });
+                break;
+        }
+    }
+
+    /**
+     * Schedules {@link #heartbeat()} from the bound {@link Duration}, so any Duration format is accepted, ie {@code 15s}.
+     */
+    @Override
+    public void configureTasks(@NonNull final ScheduledTaskRegistrar registrar) {
+        registrar.addFixedRateTask(this::heartbeat, heartbeat.toMillis());
+    }
+
+    public void heartbeat() {
+        subscribers.forEach(s -> s.offer(Frame.HEARTBEAT));
+    }
+
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+        executor.shutdown();
+    }
+
+    private void disconnect(@NonNull final Subscriber subscriber, @NonNull final Counter reason, @Nullable final Throwable error) {
+        if (subscribers.remove(subscriber)) {
+            reason.increment();
+            log.debug("Disconnected stream subscriber. reason={}, subscribers={}", reason.getId().getTag("reason"), subscribers.size(), error);
+            if (error != null) {
+                subscriber.emitter.completeWithError(error);
+            } else {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    @lombok.Value
+    private static class Frame {
+        static final Frame HEARTBEAT = new Frame(null, null);
+
+        @Nullable
+        String name;
+        @Nullable
+        Object data;
+
+        SseEmitter.SseEventBuilder toEvent() {
+            return name == null ?
+                    SseEmitter.event().comment(GreetingStreamService.HEARTBEAT) :
+                    SseEmitter.event().name(name).data(Objects.requireNonNull(data), MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Locale locale;
+        private final BlockingQueue<Frame> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(final SseEmitter emitter, @Nullable final Locale locale) {
+            this.emitter = emitter;
+            this.locale = locale;
+        }
+
+        private void offer(@NonNull final Frame frame) {
+            if (buffer.offer(frame)) {
+                schedule();
+            } else {
+                disconnect(this, slowDisconnects, null);
+            }
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (TaskRejectedException e) {
+                    draining.set(false);
+                    disconnect(this, errorDisconnects, e);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                for (Frame frame = buffer.poll(); frame != null; frame = buffer.poll()) {
+                    emitter.send(frame.toEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                disconnect(this, errorDisconnects, e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!buffer.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.watson.demos.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.watson.demos.events.GreetingEvent;
+import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingChange;
+import org.watson.demos.models.GreetingProbe;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Feeds GraphQL subscriptions with {@link GreetingEvent}s once the publishing transaction commits.<p/>
+ * Every subscriber is buffered separately, so a slow subscriber never holds back the others.
+ * <li>[Optional] {@code server.graphql.subscription.buffer-size=} Events buffered per subscriber.</li>
+ * <li>[Optional] {@code server.graphql.subscription.overflow=} {@code DROP} the oldest buffered event, or {@code DISCONNECT} the subscriber, when its buffer is full.</li>
+ */
+@Slf4j
+@Service
+public class GreetingSubscriptionService implements DisposableBean {
+    private final Sinks.Many<GreetingEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+    private final OverflowPolicy overflow;
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    public GreetingSubscriptionService(final MeterRegistry registry,
+                                       @Value("${server.graphql.subscription.buffer-size:256}") final int bufferSize,
+                                       @Value("${server.graphql.subscription.overflow:DROP}") final OverflowPolicy overflow) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.overflow = overflow;
+        this.dropped = registry.counter("graphql.greetings.subscription.overflow", "policy", OverflowPolicy.DROP.name());
+        this.disconnected = registry.counter("graphql.greetings.subscription.overflow", "policy", OverflowPolicy.DISCONNECT.name());
+    }
+
+    @NonNull
+    public Flux<Greeting> created(@NonNull final GreetingProbe probe) {
+        return bounded(events(GreetingChange.Type.CREATED)
+                .flatMapIterable(GreetingEvent::getGreetings)
+                .filter(g -> probe.getLocale() == null || probe.getLocale().equals(g.getLocale())));
+    }
+
+    @NonNull
+    public Flux<List<UUID>> deleted() {
+        return bounded(events(GreetingChange.Type.DELETED)
+                .map(e -> List.copyOf(e.getIds())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEvent(@NonNull final GreetingEvent event) {
+        if (sink.currentSubscriberCount() > 0) {
+            sink.tryEmitNext(event);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        sink.tryEmitComplete();
+    }
+
+    private Flux<GreetingEvent> events(final GreetingChange.Type type) {
+        return sink.asFlux()
+                .filter(e -> e.getType() == type);
+    }
+
+    private <T> Flux<T> bounded(final Flux<T> flux) {
+        switch (overflow) {
+            case DISCONNECT:
+                return flux.onBackpressureBuffer(bufferSize, e -> {
+                    disconnected.increment();
+                    log.debug("Disconnecting slow subscriber. bufferSize={}", bufferSize);
+                }, BufferOverflowStrategy.ERROR);
+            case DROP:
+            default:
+                return flux.onBackpressureBuffer(bufferSize, e -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+        }
+    }
+
+    public enum OverflowPolicy {
+        DROP,
+        DISCONNECT
+    }
+}
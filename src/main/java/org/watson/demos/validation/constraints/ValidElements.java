@@ -0,0 +1,33 @@
+package org.watson.demos.validation.constraints;
+
+import org.watson.demos.validation.validators.ElementsValidator;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.ElementType.TYPE_USE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Bulk replacement for {@code Collection<@Valid T>}. Validates every element of the annotated collection and reports
+ * element violations with the same property paths as a cascaded {@link javax.validation.Valid}.
+ *
+ * @see ElementsValidator
+ */
+@Documented
+@Target({METHOD, FIELD, PARAMETER, TYPE_USE})
+@Retention(RUNTIME)
+@Constraint(validatedBy = ElementsValidator.class)
+public @interface ValidElements {
+    String message() default "{validation.constraints.ValidElements.message}";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,46 @@
+package org.watson.demos.validation.validators;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The one bounded {@link ForkJoinPool} shared by every {@link ElementsValidator}, however many instances the validator
+ * factory creates. Pool metrics are published under {@code executor.*} with {@code name=validation.bulk}.
+ * <li>[Optional] {@code server.validation.bulk.parallel.parallelism=} Size of the {@link ForkJoinPool}, defaults to available processors.</li>
+ */
+@Slf4j
+@Component
+public class BulkValidationPool implements DisposableBean {
+    static final String NAME = "validation.bulk";
+
+    private final ForkJoinPool pool;
+
+    public BulkValidationPool(final MeterRegistry registry,
+                              @Value("${server.validation.bulk.parallel.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") final int parallelism) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        new ExecutorServiceMetrics(pool, NAME, List.of()).bindTo(registry);
+        log.debug("Created bulk validation pool. parallelism={}", pool.getParallelism());
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public <T> T invoke(@NonNull final ForkJoinTask<T> task) {
+        return pool.invoke(task);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,202 @@
+package org.watson.demos.validation.validators;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.watson.demos.validation.constraints.ValidElements;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder;
+import javax.validation.ConstraintViolation;
+import javax.validation.Path;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Validates each element of a {@link Collection} annotated with {@link ValidElements}. Element violations are reported
+ * against the collection with the same property path a cascaded {@code Collection<@Valid T>} would produce,
+ * ie {@code createGreetings.greetings[].content}, or {@code greetings[3].content} for a {@link List}.<p/>
+ * Sequential and unlimited by default. Optional bulk modes, which can be combined:
+ * <li>[Optional] {@code server.validation.bulk.max-violations=} Fail-fast. Stops validating after the first N violations.</li>
+ * <li>[Optional] {@code server.validation.bulk.parallel.threshold=} Collections of at least this size are split across the shared {@link BulkValidationPool}.</li>
+ * When combined, the reported violations are the lowest-indexed of those found before the limit was reached.
+ * Element messages are interpolated on pool threads with the caller's locale.
+ */
+public class ElementsValidator implements ConstraintValidator<ValidElements, Collection<?>> {
+    private final Validator validator;
+    private final int maxViolations;
+    private final int parallelThreshold;
+    private final BulkValidationPool pool;
+
+    @Autowired
+    public ElementsValidator(final Validator validator,
+                             final BulkValidationPool pool,
+                             @Value("${server.validation.bulk.max-violations:" + Integer.MAX_VALUE + "}") final int maxViolations,
+                             @Value("${server.validation.bulk.parallel.threshold:" + Integer.MAX_VALUE + "}") final int parallelThreshold) {
+        this.validator = validator;
+        this.maxViolations = Math.max(1, maxViolations);
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+        this.pool = pool;
+    }
+
+    @Override
+    public boolean isValid(@Nullable final Collection<?> elements, @NonNull final ConstraintValidatorContext context) {
+        if (elements == null || elements.isEmpty()) {
+            return true;
+        }
+
+        final boolean indexed = elements instanceof List;
+        final List<?> list = indexed ? (List<?>) elements : new ArrayList<>(elements);
+        final List<ElementViolation> violations = list.size() >= parallelThreshold ? validateParallel(list) : validateSequential(list);
+        if (violations.isEmpty()) {
+            return true;
+        }
+
+        context.disableDefaultConstraintViolation();
+        violations.forEach(v -> addViolation(context, v, indexed));
+        return false;
+    }
+
+    private List<ElementViolation> validateSequential(final List<?> elements) {
+        final List<ElementViolation> violations = new ArrayList<>();
+        for (int i = 0; i < elements.size() && violations.size() < maxViolations; i++) {
+            validate(i, elements.get(i), violations::add);
+        }
+        return violations.size() > maxViolations ? violations.subList(0, maxViolations) : violations;
+    }
+
+    private List<ElementViolation> validateParallel(final List<?> elements) {
+        final Queue<ElementViolation> violations = new ConcurrentLinkedQueue<>();
+        final AtomicInteger count = new AtomicInteger();
+        final int chunkSize = Math.max(1, elements.size() / (pool.getParallelism() * 4));
+        final LocaleContext locale = LocaleContextHolder.getLocaleContext();
+
+        pool.invoke(new ValidateTask(elements, 0, elements.size(), chunkSize, locale, count, violations));
+
+        return violations.stream()
+                .sorted(Comparator.comparingInt(ElementViolation::getIndex))
+                .limit(maxViolations)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private void validate(final int index, @Nullable final Object element, final Consumer<ElementViolation> consumer) {
+        if (element != null) {
+            validator.validate(element).forEach(v -> consumer.accept(new ElementViolation(index, v)));
+        }
+    }
+
+    private static void addViolation(final ConstraintValidatorContext context, final ElementViolation violation, final boolean indexed) {
+        final ConstraintViolationBuilder builder = context.buildConstraintViolationWithTemplate(escape(violation.getViolation().getMessage()));
+        final Iterator<String> names = StreamSupport.stream(violation.getViolation().getPropertyPath().spliterator(), false)
+                .map(Path.Node::getName)
+                .filter(Objects::nonNull)
+                .iterator();
+
+        if (!names.hasNext()) {
+            final ConstraintViolationBuilder.LeafNodeContextBuilder bean = builder.addBeanNode().inIterable();
+            if (indexed) {
+                bean.atIndex(violation.getIndex()).addConstraintViolation();
+            } else {
+                bean.addConstraintViolation();
+            }
+            return;
+        }
+
+        final ConstraintViolationBuilder.NodeContextBuilder first = builder.addPropertyNode(names.next()).inIterable();
+        if (!names.hasNext()) {
+            if (indexed) {
+                first.atIndex(violation.getIndex()).addConstraintViolation();
+            } else {
+                first.addConstraintViolation();
+            }
+            return;
+        }
+
+        ConstraintViolationBuilder.NodeBuilderCustomizableContext node = indexed ?
+                first.atIndex(violation.getIndex()).addPropertyNode(names.next()) :
+                first.addPropertyNode(names.next());
+        while (names.hasNext()) {
+            node = node.addPropertyNode(names.next());
+        }
+        node.addConstraintViolation();
+    }
+
+    private static String escape(final String message) {
+        final StringBuilder escaped = new StringBuilder(message.length());
+        for (int i = 0; i < message.length(); i++) {
+            final char c = message.charAt(i);
+            if (c == '{' || c == '}' || c == '$' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    @lombok.Value
+    private static class ElementViolation {
+        int index;
+        ConstraintViolation<?> violation;
+    }
+
+    private final class ValidateTask extends RecursiveAction {
+        private final List<?> elements;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        @Nullable
+        private final LocaleContext locale;
+        private final AtomicInteger count;
+        private final Queue<ElementViolation> violations;
+
+        private ValidateTask(final List<?> elements, final int from, final int to, final int chunkSize,
+                             @Nullable final LocaleContext locale, final AtomicInteger count, final Queue<ElementViolation> violations) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.locale = locale;
+            this.count = count;
+            this.violations = violations;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunkSize) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new ValidateTask(elements, from, middle, chunkSize, locale, count, violations),
+                        new ValidateTask(elements, middle, to, chunkSize, locale, count, violations));
+                return;
+            }
+
+            final LocaleContext previous = LocaleContextHolder.getLocaleContext();
+            LocaleContextHolder.setLocaleContext(locale);
+            try {
+                for (int i = from; i < to && count.get() < maxViolations; i++) {
+                    validate(i, elements.get(i), v -> {
+                        violations.add(v);
+                        count.incrementAndGet();
+                    });
+                }
+            } finally {
+                LocaleContextHolder.setLocaleContext(previous);
+            }
+        }
+    }
+}
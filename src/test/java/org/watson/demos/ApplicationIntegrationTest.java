@@ -42,7 +42,7 @@ import static org.watson.demos.utilities.GeneratorTestUtility.generateGreetings;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @AutoConfigureTestDatabase
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "server.grpc.port=0")
 class ApplicationIntegrationTest {
     private static final String VERSION_1 = "v1";
     private static final List<Greeting> TEST_VALUES = generateGreetings("application");
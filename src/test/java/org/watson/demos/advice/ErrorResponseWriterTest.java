@@ -0,0 +1,125 @@
+package org.watson.demos.advice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.web.ErrorProperties.IncludeAttribute;
+import org.springframework.boot.web.servlet.error.DefaultErrorAttributes;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.RequestDispatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.watson.demos.advice.UnwrappedExceptionResolver.ERROR_EXCEPTION_ATTRIBUTES;
+
+class ErrorResponseWriterTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+    private static final Schema<?> ERROR_SCHEMA = new Schema<>().name("Error")
+            .addProperty("path", new StringSchema())
+            .addProperty("error", new StringSchema())
+            .addProperty("status", new IntegerSchema())
+            .addProperty("message", new StringSchema());
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/greetings");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void write_writesSchemaFields() {
+        final JsonNode actual = write(writer(ERROR_SCHEMA, IncludeAttribute.NEVER), 409);
+
+        assertThat(response.getStatus()).isEqualTo(409);
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(actual.get("path").asText()).isEqualTo("/v1/greetings");
+        assertThat(actual.get("error").asText()).isEqualTo("Conflict");
+        assertThat(actual.get("status").asInt()).isEqualTo(409);
+        assertThat(actual.has("timestamp")).isFalse();
+        assertThat(actual.has("message")).isFalse();
+    }
+
+    @Test
+    void write_onParam_includesMessageWhenRequested() {
+        final ErrorResponseWriter writer = writer(ERROR_SCHEMA, IncludeAttribute.ON_PARAM);
+        request.setParameter("message", "");
+
+        final JsonNode actual = write(writer, 400);
+
+        assertThat(actual.get("message").asText()).isEqualTo("expected");
+    }
+
+    @Test
+    void write_onParam_falseExcludesMessage() {
+        final ErrorResponseWriter writer = writer(ERROR_SCHEMA, IncludeAttribute.ON_PARAM);
+        request.setParameter("message", "false");
+
+        final JsonNode actual = write(writer, 400);
+
+        assertThat(actual.has("message")).isFalse();
+    }
+
+    @Test
+    void write_withoutSchema_writesEveryAttribute() {
+        final JsonNode actual = write(writer(null, IncludeAttribute.NEVER), 400);
+
+        assertThat(actual.has("timestamp")).isTrue();
+        assertThat(actual.get("status").asInt()).isEqualTo(400);
+    }
+
+    @Test
+    void write_removesErrorDispatchAttributes() {
+        write(writer(ERROR_SCHEMA, IncludeAttribute.NEVER), 400);
+
+        assertThat(request.getAttribute(RequestDispatcher.ERROR_STATUS_CODE)).isNull();
+        assertThat(request.getAttribute(RequestDispatcher.ERROR_REQUEST_URI)).isNull();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "|true",
+            "application/json|true",
+            "application/json, */*;q=0.8|true",
+            "*/*|true",
+            "application/*|true",
+            "application/cbor|false",
+            "application/x-jackson-smile|false",
+            "application/cbor, application/json;q=0|false",
+            "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8|false",
+            "not a media type|false",
+    })
+    void acceptsJson_negotiatesAcceptHeader(final String accept, final boolean expected) {
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+
+        assertThat(ErrorResponseWriter.acceptsJson(request)).isEqualTo(expected);
+    }
+
+    @SneakyThrows
+    private JsonNode write(final ErrorResponseWriter writer, final int status) {
+        final RuntimeException exception = new RuntimeException("expected");
+        ERROR_EXCEPTION_ATTRIBUTES.forEach(a -> request.setAttribute(a, exception));
+        writer.write(request, response, status);
+        return MAPPER.readTree(response.getContentAsByteArray());
+    }
+
+    private static ErrorResponseWriter writer(final Schema<?> errorSchema, final IncludeAttribute includeMessage) {
+        final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (errorSchema != null) {
+            beanFactory.addBean("errorSchema", errorSchema);
+        }
+        final ObjectProvider<Schema<?>> schemaProvider = beanFactory.getBeanProvider(ResolvableType.forClass(Schema.class));
+        return new ErrorResponseWriter(new DefaultErrorAttributes(), MAPPER, schemaProvider,
+                false, includeMessage, IncludeAttribute.NEVER, IncludeAttribute.NEVER);
+    }
+}
@@ -0,0 +1,24 @@
+package org.watson.demos.advice;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.watson.demos.exceptions.ExpectedStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpectedStatusExceptionAdviceTest {
+    private final ExpectedStatusExceptionAdvice advice = new ExpectedStatusExceptionAdvice();
+
+    @SneakyThrows
+    @Test
+    void handleExpectedStatus_sendsStatusAndReason() {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        advice.handleExpectedStatus(new ExpectedStatusException(HttpStatus.CONFLICT, "thing already exists"), response);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(response.getErrorMessage()).isEqualTo("thing already exists");
+    }
+}
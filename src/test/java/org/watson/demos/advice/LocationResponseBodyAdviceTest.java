@@ -22,11 +22,13 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.watson.demos.models.Identifiable;
 
 import javax.annotation.Resource;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -99,6 +101,60 @@ class LocationResponseBodyAdviceTest {
                 .containsExactlyInAnyOrderElementsOf(EXPECTED.stream().map(e -> "/" + e.getId()).collect(Collectors.toUnmodifiableList()));
     }
 
+    @Test
+    void beforeBodyWrite_manyEntries_skipsNullIds() {
+        final List<Identifiable<?>> input = new ArrayList<>(EXPECTED);
+        input.add(1, () -> null);
+        input.add(null);
+
+        advice.beforeBodyWrite(input, null, null, null, request, response);
+
+        assertThat(headers.get(HttpHeaders.CONTENT_LOCATION))
+                .containsExactlyElementsOf(EXPECTED.stream().map(e -> "/" + e.getId()).collect(Collectors.toUnmodifiableList()));
+    }
+
+    @Test
+    void beforeBodyWrite_compact_writesSingleContentLocationHeader() {
+        compactAdvice(DataSize.ofKilobytes(8)).beforeBodyWrite(EXPECTED, null, null, null, request, response);
+
+        assertThat(headers.get(HttpHeaders.CONTENT_LOCATION))
+                .containsExactly(URI.create(FAKE_URI).getPath() + "?id=" + EXPECTED.stream().map(e -> String.valueOf(e.getId())).collect(Collectors.joining(",")));
+        assertThat(headers.getLocation()).isNull();
+    }
+
+    @Test
+    void beforeBodyWrite_compact_singleEntry_writesLocationHeader() {
+        compactAdvice(DataSize.ofKilobytes(8)).beforeBodyWrite(EXPECTED.subList(0, 1), null, null, null, request, response);
+
+        assertThat(headers.getLocation())
+                .isEqualTo(URI.create(FAKE_URI + "/" + EXPECTED.get(0).getId()));
+        assertThat(headers.get(HttpHeaders.CONTENT_LOCATION)).isNull();
+    }
+
+    @Test
+    void beforeBodyWrite_compact_idsFillHeader_writesEveryId() {
+        final List<Identifiable<?>> input = generateIdentifiable("compact", (1024 - 4) / 37);
+
+        compactAdvice(DataSize.ofKilobytes(4)).beforeBodyWrite(input, null, null, null, request, response);
+
+        assertThat(headers.get(HttpHeaders.CONTENT_LOCATION)).singleElement()
+                .satisfies(location -> assertThat(location.substring(location.indexOf('=') + 1).split(",")).hasSize(input.size()));
+    }
+
+    @Test
+    void beforeBodyWrite_compact_idsExceedHeader_writesNoContentLocation() {
+        final List<Identifiable<?>> input = generateIdentifiable("compact", (1024 - 4) / 37 + 1);
+
+        compactAdvice(DataSize.ofKilobytes(4)).beforeBodyWrite(input, null, null, null, request, response);
+
+        assertThat(headers.get(HttpHeaders.CONTENT_LOCATION)).isNull();
+        assertThat(headers.getLocation()).isNull();
+    }
+
+    private static LocationResponseBodyAdvice compactAdvice(final DataSize maxHeaderSize) {
+        return new LocationResponseBodyAdvice(maxHeaderSize, DataSize.ofKilobytes(3), "/", 36, true, "id");
+    }
+
     @NullAndEmptySource
     @MethodSource
     @ParameterizedTest
@@ -6,6 +6,7 @@ import org.mockito.Mock;
 import org.springframework.boot.context.annotation.UserConfigurations;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.http.HttpHeaders;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.servlet.ModelAndView;
@@ -15,13 +16,21 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static javax.servlet.http.HttpServletResponse.SC_NOT_ACCEPTABLE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.watson.demos.advice.UnwrappedExceptionResolver.ERROR_EXCEPTION_ATTRIBUTES;
 
 @SpringBootTest(classes = UnwrappedExceptionResolver.class, properties = {
@@ -113,6 +122,79 @@ class UnwrappedExceptionResolverTest {
         verify(response).sendError(SC_NOT_ACCEPTABLE);
     }
 
+    @SneakyThrows
+    @Test
+    void doResolveException_returnsMostSpecificMappedCode() {
+        final Map<Class<? extends Throwable>, Integer> codes = new LinkedHashMap<>();
+        codes.put(RuntimeException.class, 400);
+        codes.put(IllegalArgumentException.class, 422);
+        final UnwrappedExceptionResolver resolver = new UnwrappedExceptionResolver(Optional.empty(), Optional.of(codes), Optional.empty());
+
+        for (int i = 0; i < 2; i++) {
+            resolver.doResolveException(request, response, null, new NumberFormatException("expected"));
+            resolver.doResolveException(request, response, null, new IllegalStateException("expected"));
+        }
+
+        verify(response, times(2)).sendError(422);
+        verify(response, times(2)).sendError(400);
+    }
+
+    @Test
+    void resolveException_unwrapsSubclassOfUnwrappedException() {
+        final Exception expected = new Exception("expected");
+        final UnwrappedExceptionResolver resolver = new UnwrappedExceptionResolver(Optional.of(Set.of(TransactionSystemException.class)), Optional.empty(), Optional.empty());
+
+        resolver.resolveException(request, response, null, new TransactionSystemException("fake", expected) {
+        });
+
+        ERROR_EXCEPTION_ATTRIBUTES.forEach(a -> verify(request).setAttribute(a, expected));
+    }
+
+    @SneakyThrows
+    @Test
+    void doResolveException_writesJsonWithoutErrorDispatch() {
+        final ErrorResponseWriter writer = mock(ErrorResponseWriter.class);
+        final UnwrappedExceptionResolver resolver = new UnwrappedExceptionResolver(Optional.empty(), Optional.of(Map.of(RuntimeException.class, 400)), Optional.of(writer));
+        when(request.getHeader(HttpHeaders.ACCEPT)).thenReturn("application/json, */*;q=0.8");
+
+        final ModelAndView mv = resolver.doResolveException(request, response, null, new RuntimeException("expected"));
+
+        assertThat(mv).isNotNull();
+        assertThat(mv.isEmpty()).isTrue();
+        verify(writer).write(request, response, 400);
+        verify(response, never()).sendError(anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void doResolveException_htmlRequestKeepsErrorView() {
+        final ErrorResponseWriter writer = mock(ErrorResponseWriter.class);
+        final UnwrappedExceptionResolver resolver = new UnwrappedExceptionResolver(Optional.empty(), Optional.of(Map.of(RuntimeException.class, 400)), Optional.of(writer));
+        when(request.getHeader(HttpHeaders.ACCEPT)).thenReturn("text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
+
+        final ModelAndView mv = resolver.doResolveException(request, response, null, new RuntimeException("expected"));
+
+        assertThat(mv).isNotNull();
+        assertThat(mv.getViewName()).isEqualTo("error");
+        verify(response).sendError(400);
+        verifyNoInteractions(writer);
+    }
+
+    @SneakyThrows
+    @Test
+    void doResolveException_cborRequestKeepsErrorDispatch() {
+        final ErrorResponseWriter writer = mock(ErrorResponseWriter.class);
+        final UnwrappedExceptionResolver resolver = new UnwrappedExceptionResolver(Optional.empty(), Optional.of(Map.of(RuntimeException.class, 400)), Optional.of(writer));
+        when(request.getHeader(HttpHeaders.ACCEPT)).thenReturn("application/cbor");
+
+        final ModelAndView mv = resolver.doResolveException(request, response, null, new RuntimeException("expected"));
+
+        assertThat(mv).isNotNull();
+        assertThat(mv.getViewName()).isEqualTo("error");
+        verify(response).sendError(400);
+        verifyNoInteractions(writer);
+    }
+
     @Test
     void beanCreatedPropertiesSet() {
         contextRunner.withPropertyValues(
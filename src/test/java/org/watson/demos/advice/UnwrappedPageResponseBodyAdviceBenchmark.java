@@ -0,0 +1,239 @@
+package org.watson.demos.advice;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebProperties;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpAsyncRequestControl;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput and allocation per page response of {@link UnwrappedPageResponseBodyAdvice}, against the previous
+ * implementation that tokenized the URI with a regex and replaced the token once per link. Run with {@code main},
+ * which adds the {@link GCProfiler} for {@code gc.alloc.rate.norm} (bytes allocated per response).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UnwrappedPageResponseBodyAdviceBenchmark {
+    @Param({
+            "http://localhost:8080/v1/greetings",
+            "http://localhost:8080/v1/greetings?locale=en_US&page=3&size=20&sort=content,desc"
+    })
+    private String uri;
+
+    private final UnwrappedPageResponseBodyAdvice advice = new UnwrappedPageResponseBodyAdvice("Page-", new SpringDataWebProperties());
+    private final RegexLinks regexLinks = new RegexLinks("page");
+    private final Page<Integer> page = new PageImpl<>(IntStream.range(60, 80).boxed().collect(Collectors.toUnmodifiableList()),
+            PageRequest.of(3, 20, Sort.by("content").descending()), 2000);
+    private final ReusableResponse response = new ReusableResponse();
+    private FixedUriRequest request;
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UnwrappedPageResponseBodyAdviceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setup() {
+        request = new FixedUriRequest(URI.create(uri));
+    }
+
+    @Benchmark
+    public HttpHeaders advice() {
+        advice.beforeBodyWrite(page, null, null, null, request, response.reset());
+        return response.headers;
+    }
+
+    @Benchmark
+    public HttpHeaders regex() {
+        final HttpHeaders headers = response.reset().getHeaders();
+        headers.setAll(regexLinks.pageHeaders(page));
+        headers.addAll(HttpHeaders.LINK, regexLinks.linkHeaders(request.getURI(), page));
+        return headers;
+    }
+
+    /**
+     * The previous header building, kept as the baseline.
+     */
+    private static class RegexLinks {
+        private static final String PAGE_NUMBER_REPLACE_TOKEN = "##PAGE_NUMBER##";
+        private static final Pattern PAGE_NUMBER_REPLACE_PATTERN = Pattern.compile(PAGE_NUMBER_REPLACE_TOKEN, Pattern.LITERAL);
+
+        private final String pageParameter;
+        private final Pattern pageQueryPattern;
+        private final String pageQueryReplaceToken;
+
+        private RegexLinks(final String pageParameter) {
+            this.pageParameter = pageParameter + "=";
+            this.pageQueryPattern = Pattern.compile(this.pageParameter + "[^&]*");
+            this.pageQueryReplaceToken = this.pageParameter + PAGE_NUMBER_REPLACE_TOKEN;
+        }
+
+        private Map<String, String> pageHeaders(final Page<?> page) {
+            return Map.of(
+                    "Page-Size", String.valueOf(page.getSize()),
+                    "Page-Sort", String.valueOf(page.getSort()),
+                    "Page-Index", String.valueOf(page.getNumber()),
+                    "Page-Total-Pages", String.valueOf(page.getTotalPages()),
+                    "Page-Total-Elements", String.valueOf(page.getTotalElements())
+            );
+        }
+
+        private List<String> linkHeaders(final URI uri, final Page<?> page) {
+            final String uriString = tokenize(uri);
+            final List<String> links = new ArrayList<>();
+            links.add(link(uriString, page.getNumber(), "self"));
+            if (!page.isFirst()) {
+                links.add(link(uriString, 0, "first"));
+            }
+            if (page.hasNext()) {
+                links.add(link(uriString, page.getNumber() + 1, "next"));
+            }
+            if (page.hasPrevious()) {
+                links.add(link(uriString, page.getNumber() - 1, "prev"));
+            }
+            if (!page.isLast()) {
+                links.add(link(uriString, page.getTotalPages() - 1, "last"));
+            }
+            return links;
+        }
+
+        private String tokenize(final URI uri) {
+            final String uriString = uri.toString();
+            if (!uriString.contains("?")) {
+                return uriString + "?" + pageQueryReplaceToken;
+            } else if (uri.getQuery().contains(pageParameter)) {
+                return pageQueryPattern.matcher(uriString).replaceFirst(pageQueryReplaceToken);
+            } else {
+                return uriString + "&" + pageQueryReplaceToken;
+            }
+        }
+
+        private String link(final String uri, final int pageNumber, final String rel) {
+            return "<" + PAGE_NUMBER_REPLACE_PATTERN.matcher(uri).replaceFirst(String.valueOf(pageNumber)) + ">; rel=\"" + rel + "\"";
+        }
+    }
+
+    private static class FixedUriRequest implements ServerHttpRequest {
+        private final URI uri;
+        private final HttpHeaders headers = HttpHeaders.readOnlyHttpHeaders(new HttpHeaders());
+
+        private FixedUriRequest(final URI uri) {
+            this.uri = uri;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return HttpMethod.GET.name();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public ServerHttpAsyncRequestControl getAsyncRequestControl(final ServerHttpResponse response) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class ReusableResponse implements ServerHttpResponse {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private ReusableResponse reset() {
+            headers.clear();
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public void setStatusCode(final HttpStatus status) {
+            // Headers only.
+        }
+
+        @Override
+        public void flush() {
+            // Headers only.
+        }
+
+        @Override
+        public void close() {
+            // Headers only.
+        }
+    }
+}
@@ -156,6 +156,26 @@ class UnwrappedPageResponseBodyAdviceTest {
                 assertLinkHeaders(requestUri + "&", page, 0, totalPages));
     }
 
+    @Test
+    void linkHeadersSetCorrectlyPerPageWithPageArgsFirst() {
+        final String requestUri = FAKE_URI + "?";
+        when(request.getURI()).thenReturn(URI.create(requestUri + PAGE_NUMBER_PARAMETER + "=13&things=cool&arg=yup"));
+
+        forEachPage(advice, 2, Sort.unsorted(), EXPECTED, (page, totalPages) -> {
+            assertLinkHeaders(requestUri, page, 0, totalPages);
+            assertThat(headers.get(HttpHeaders.LINK)).allMatch(link -> link.contains("&things=cool&arg=yup>"));
+        });
+    }
+
+    @Test
+    void linkHeadersSetCorrectlyPerPageWithSimilarlyNamedArgs() {
+        final String requestUri = FAKE_URI + "?other-" + PAGE_NUMBER_PARAMETER + "=13";
+        when(request.getURI()).thenReturn(URI.create(requestUri));
+
+        forEachPage(advice, 2, Sort.unsorted(), EXPECTED, (page, totalPages) ->
+                assertLinkHeaders(requestUri + "&", page, 0, totalPages));
+    }
+
     @Test
     void linkHeadersSetCorrectlyPerPageWhenOneIndex() {
         when(webProperties.getPageable()).thenReturn(pageable);
@@ -1,17 +1,30 @@
 package org.watson.demos.configurations;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.convert.ApplicationConversionService;
 import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+import org.watson.demos.filters.AccessLogWriter;
+import org.watson.demos.filters.RouteTimers;
 import org.watson.demos.services.TraceService;
 
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -19,7 +32,9 @@ class FilterConfigurationTest {
 
     private final FilterConfiguration configuration = new FilterConfiguration();
     private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
-            .withUserConfiguration(FilterConfiguration.class);
+            .withInitializer(c -> c.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(FilterConfiguration.class)
+            .withBean(SimpleMeterRegistry.class);
 
     @ValueSource(strings = {"traceIdHeaderResponseFilter", "requestLoggingRegistrationBean"})
     @ParameterizedTest
@@ -49,7 +64,7 @@ class FilterConfigurationTest {
     @ValueSource(strings = {"/some-path", "/this/is/a/nested/path"})
     @ParameterizedTest
     void urlPatternMatchesWildcardPaths(final String path) {
-        final FilterRegistrationBean<?> actual = configuration.requestLoggingRegistrationBean(Optional.empty(), path == null ? List.of() : List.of(path));
+        final FilterRegistrationBean<?> actual = configuration.requestLoggingRegistrationBean(Optional.empty(), path == null ? List.of() : List.of(path), Optional.empty(), Optional.empty());
         assertUrlPatternsContains(actual, StringUtils.isEmpty(path) ? List.of() : List.of(path + "/*"));
     }
 
@@ -91,32 +106,85 @@ class FilterConfigurationTest {
     @ValueSource(strings = {"/", "/some-path/", "/this/is/a/nested/path/"})
     @ParameterizedTest
     void urlPatternMatchesTrailingSlashWildcardPaths(final String path) {
-        final FilterRegistrationBean<?> actual = configuration.requestLoggingRegistrationBean(Optional.empty(), List.of(path));
+        final FilterRegistrationBean<?> actual = configuration.requestLoggingRegistrationBean(Optional.empty(), List.of(path), Optional.empty(), Optional.empty());
         assertUrlPatternsContains(actual, List.of(path + "*"));
     }
 
     @ValueSource(strings = {"some-path", "this/is/a/nested/path"})
     @ParameterizedTest
     void urlPatternMatchesMissingLeadingSlashWildcardPaths(final String path) {
-        final FilterRegistrationBean<?> actual = configuration.requestLoggingRegistrationBean(Optional.empty(), List.of(path));
+        final FilterRegistrationBean<?> actual = configuration.requestLoggingRegistrationBean(Optional.empty(), List.of(path), Optional.empty(), Optional.empty());
         assertUrlPatternsContains(actual, List.of("/" + path + "/*"));
     }
 
     @ValueSource(strings = {" ", " /some-path ", " /this/is/a/nested/path "})
     @ParameterizedTest
     void urlPatternMatchesTrimmedPaths(final String path) {
-        final FilterRegistrationBean<?> actual = configuration.requestLoggingRegistrationBean(Optional.empty(), List.of(path));
+        final FilterRegistrationBean<?> actual = configuration.requestLoggingRegistrationBean(Optional.empty(), List.of(path), Optional.empty(), Optional.empty());
         assertUrlPatternsContains(actual, List.of(path.trim() + "/*"));
     }
 
     @Test
     void orderMatchesFilterOrder() {
         final int expected = 8675309;
-        final FilterRegistrationBean<?> actual = configuration.requestLoggingRegistrationBean(Optional.of(expected), List.of("/any-path"));
+        final FilterRegistrationBean<?> actual = configuration.requestLoggingRegistrationBean(Optional.of(expected), List.of("/any-path"), Optional.empty(), Optional.empty());
         assertThat(actual).isNotNull();
         assertThat(actual.getOrder()).isEqualTo(expected);
     }
 
+    @Test
+    void accessLogWriterDisabledByDefault() {
+        contextRunner.withPropertyValues("spring.config.location=classpath:empty.properties")
+                .withBean(TraceService.class)
+                .run(context -> assertThat(context).doesNotHaveBean(AccessLogWriter.class));
+    }
+
+    @Test
+    void accessLogWriterEnabledByProperty(@TempDir final Path directory) {
+        contextRunner.withPropertyValues("spring.config.location=classpath:empty.properties",
+                        "server.request.logging.async.enabled=true",
+                        "server.request.logging.async.file=" + directory.resolve("access.log"),
+                        "server.request.logging.async.max-file-size=1KB")
+                .withBean(TraceService.class)
+                .run(context -> assertThat(context).hasSingleBean(AccessLogWriter.class));
+    }
+
+    @Test
+    void routeTimersDisabledByDefault() {
+        contextRunner.withPropertyValues("spring.config.location=classpath:empty.properties")
+                .withBean(TraceService.class)
+                .run(context -> assertThat(context).doesNotHaveBean(RouteTimers.class));
+    }
+
+    @Test
+    void routeTimersEnabledByProperty() {
+        contextRunner.withPropertyValues("spring.config.location=classpath:empty.properties", "server.request.logging.metrics.enabled=true")
+                .withBean(TraceService.class)
+                .run(context -> assertThat(context).hasSingleBean(RouteTimers.class));
+    }
+
+    @Test
+    void routeTimersPublishConfiguredPercentilesAndSlos() {
+        contextRunner.withPropertyValues("spring.config.location=classpath:empty.properties",
+                        "server.request.logging.metrics.enabled=true",
+                        "server.request.logging.metrics.percentiles=0.5,0.99",
+                        "server.request.logging.metrics.slo=50ms,200ms")
+                .withBean(TraceService.class)
+                .run(context -> {
+                    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/greetings/1");
+                    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/greetings/{id}");
+                    context.getBean(RouteTimers.class).record(request, 200, 1_000_000);
+
+                    final HistogramSnapshot actual = context.getBean(MeterRegistry.class).get("http.server.route")
+                            .tags("route", "/v1/greetings/{id}", "method", "GET", "status", "200")
+                            .timer()
+                            .takeSnapshot();
+                    assertThat(actual.percentileValues()).extracting(ValueAtPercentile::percentile).containsExactly(0.5, 0.99);
+                    assertThat(actual.histogramCounts()).extracting(CountAtBucket::bucket)
+                            .contains((double) TimeUnit.MILLISECONDS.toNanos(50), (double) TimeUnit.MILLISECONDS.toNanos(200));
+                });
+    }
+
     private static void assertUrlPatternsContains(final FilterRegistrationBean<?> actual, final Collection<String> paths) {
         assertThat(actual).isNotNull();
         assertThat(actual.getUrlPatterns()).containsAll(paths);
@@ -0,0 +1,45 @@
+package org.watson.demos.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.graphql.server.WebGraphQlHandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class GraphQlConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(c -> c.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(GraphQlConfiguration.class)
+            .withBean(SimpleMeterRegistry.class)
+            .withBean(ObjectMapper.class)
+            .withBean(WebGraphQlHandler.class, () -> mock(WebGraphQlHandler.class));
+
+    @ValueSource(strings = {"documentCacheCustomizer", "costLimitInstrumentation", "fieldTimingInstrumentation", "resultCacheInterceptor", "batchGraphQlHttpHandler", "batchGraphQlRouterFunction"})
+    @ParameterizedTest
+    void enabledByDefault(final String beanName) {
+        contextRunner.withPropertyValues("spring.config.location=classpath:empty.properties")
+                .run(context -> assertThat(context).hasBean(beanName));
+    }
+
+    @CsvSource({
+            "documentCacheCustomizer,server.graphql.document-cache.enabled",
+            "costLimitInstrumentation,server.graphql.cost.enabled",
+            "fieldTimingInstrumentation,server.graphql.field-metrics.enabled",
+            "resultCacheInterceptor,server.graphql.result-cache.enabled",
+            "batchGraphQlHttpHandler,server.graphql.batch.enabled",
+            "batchGraphQlRouterFunction,server.graphql.batch.enabled"
+    })
+    @ParameterizedTest
+    void disabledByProperty(final String beanName, final String property) {
+        contextRunner.withPropertyValues("spring.config.location=classpath:empty.properties")
+                .withPropertyValues(property + "=false")
+                .run(context -> assertThat(context).doesNotHaveBean(beanName));
+    }
+}
@@ -0,0 +1,42 @@
+package org.watson.demos.configurations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.watson.demos.grpc.GrpcServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GrpcConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(c -> c.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(GrpcConfiguration.class)
+            .withBean(SimpleMeterRegistry.class)
+            .withPropertyValues("server.grpc.port=0");
+
+    @ValueSource(strings = "grpcServer")
+    @ParameterizedTest
+    void disabledByDefault(final String beanName) {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(beanName));
+    }
+
+    @ValueSource(strings = "grpcServer")
+    @ParameterizedTest
+    void enabledByProperty(final String beanName) {
+        contextRunner.withPropertyValues("server.grpc.enabled=true").run(context -> {
+            assertThat(context).hasBean(beanName);
+            assertThat(context.getBean(GrpcServer.class).isRunning()).isTrue();
+            assertThat(context.getBean(GrpcServer.class).getPort()).isPositive();
+        });
+    }
+
+    @ValueSource(strings = "grpcServer")
+    @ParameterizedTest
+    void disabledByProperty(final String beanName) {
+        contextRunner.withPropertyValues("server.grpc.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(beanName));
+    }
+}
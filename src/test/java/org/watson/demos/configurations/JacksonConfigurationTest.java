@@ -0,0 +1,48 @@
+package org.watson.demos.configurations;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JacksonConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(JacksonConfiguration.class);
+    private final WebApplicationContextRunner webContextRunner = new WebApplicationContextRunner()
+            .withUserConfiguration(JacksonConfiguration.class)
+            .withBean(Jackson2ObjectMapperBuilder.class, Jackson2ObjectMapperBuilder::json);
+
+    @ValueSource(strings = {"jacksonConfiguration", "serializersModule"})
+    @ParameterizedTest
+    void enabledByDefault(final String beanName) {
+        contextRunner.run(context -> assertThat(context).hasBean(beanName));
+    }
+
+    @ValueSource(strings = "serializersModule")
+    @ParameterizedTest
+    void disabledByProperty(final String beanName) {
+        contextRunner.withPropertyValues("spring.config.location=classpath:empty.properties")
+                .withPropertyValues("server.jackson.serializers.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(beanName));
+    }
+
+    @ValueSource(strings = {"cborHttpMessageConverter", "smileHttpMessageConverter"})
+    @ParameterizedTest
+    void converters_enabledInWebApplication(final String beanName) {
+        webContextRunner.run(context -> assertThat(context).hasBean(beanName));
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(beanName));
+    }
+
+    @ValueSource(strings = {"cborUnwrappedPageHttpMessageConverter", "smileUnwrappedPageHttpMessageConverter"})
+    @ParameterizedTest
+    void unwrappedPageConverters_enabledByProperty(final String beanName) {
+        webContextRunner.withPropertyValues("server.response.unwrap.page=true")
+                .run(context -> assertThat(context).hasBean(beanName));
+        webContextRunner.withPropertyValues("spring.config.location=classpath:empty.properties")
+                .run(context -> assertThat(context).doesNotHaveBean(beanName));
+    }
+}
@@ -1,5 +1,6 @@
 package org.watson.demos.controllers;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Named;
@@ -13,14 +14,23 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.graphql.test.tester.GraphQlTester;
+import org.watson.demos.graphql.DataFetcherExecutor;
 import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingConnection;
+import org.watson.demos.models.GreetingCursor;
 import org.watson.demos.models.GreetingProbe;
 import org.watson.demos.services.GreetingService;
+import org.watson.demos.validation.validators.BulkValidationPool;
+import org.watson.demos.services.GreetingSubscriptionService;
+import reactor.core.publisher.Flux;
 
 import javax.annotation.Resource;
 import java.time.ZoneOffset;
@@ -31,17 +41,25 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.watson.demos.utilities.ConverterTestUtility.subList;
@@ -51,6 +69,7 @@ import static org.watson.demos.utilities.GeneratorTestUtility.generateGreetings;
 @Tag("Integration")
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @GraphQlTest(GreetingGraphController.class)
+@Import({DataFetcherExecutor.class, BulkValidationPool.class, SimpleMeterRegistry.class})
 class GreetingGraphControllerIntegrationTest {
     private static final Map<UUID, Greeting> INPUT_VALUES = new LinkedHashMap<>();
     private static final Map<UUID, Greeting> EXPECTED_VALUES = generateGreetings("integrate").stream()
@@ -69,13 +88,18 @@ class GreetingGraphControllerIntegrationTest {
 
     @MockBean
     private GreetingService service;
+    @MockBean
+    private GreetingSubscriptionService subscriptionService;
     @Resource
     private GraphQlTester tester;
 
     @BeforeEach
     void beforeEach() {
-        when(service.getOne(any()))
-                .thenAnswer(a -> Optional.ofNullable(EXPECTED_VALUES.get(a.getArgument(0, UUID.class))));
+        when(service.getAllById(anyCollection()))
+                .thenAnswer(a -> ((Collection<?>) a.getArgument(0, Collection.class)).stream()
+                        .map(EXPECTED_VALUES::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toUnmodifiableList()));
 
         when(service.createAll(anyCollection()))
                 .thenAnswer(a -> ((Collection<?>) a.getArgument(0, Collection.class)).stream()
@@ -87,7 +111,7 @@ class GreetingGraphControllerIntegrationTest {
                                         .filter(g -> in.contains(g.getContent()))
                                         .collect(Collectors.toUnmodifiableList()))));
 
-        when(service.getAll(any(), any()))
+        when(service.getAll(any(), any(), anyCollection()))
                 .thenAnswer(a -> {
                     final Pageable pageable = a.getArgument(1, Pageable.class);
                     final List<Greeting> sublist = subList(EXPECTED_VALUES.values(), pageable.getOffset(), pageable.getPageSize());
@@ -157,6 +181,28 @@ class GreetingGraphControllerIntegrationTest {
         }
     }
 
+    @SneakyThrows
+    @MethodSource("createGreetings")
+    @ParameterizedTest
+    void createGreetingsMinimal(final List<Greeting> expected) {
+        final GraphQlTester.Response response = tester.document("mutation CreateGreetingsMinimal($greetings: [GreetingInput]!) {" +
+                        "  createGreetingsMinimal(greetings: $greetings) {" +
+                        "    count" +
+                        "    ids" +
+                        "  }" +
+                        "}")
+                .variable("greetings", expected.stream()
+                        .map(e -> Map.of("content", e.getContent(), "locale", e.getLocale()))
+                        .collect(Collectors.toList()))
+                .execute();
+
+        response.path("createGreetingsMinimal.count").entity(Integer.class).isEqualTo(expected.size());
+        response.path("createGreetingsMinimal.ids").entityList(UUID.class)
+                .containsExactly(service.createAll(Set.copyOf(expected)).stream()
+                        .map(Greeting::getId)
+                        .toArray(UUID[]::new));
+    }
+
     Stream<Arguments> createGreetings() {
         return Stream.of(
                 Arguments.of(Named.of("Greeting[1]", subList(INPUT_VALUES.values(), 0, 1))),
@@ -164,6 +210,22 @@ class GreetingGraphControllerIntegrationTest {
         );
     }
 
+    @Test
+    void getGreetingsByIds_overMaxSize_isRejected() {
+        final List<UUID> ids = Stream.generate(UUID::randomUUID)
+                .limit(GreetingGraphController.MAX_CONNECTION_SIZE + 1)
+                .collect(Collectors.toUnmodifiableList());
+
+        final GraphQlTester.Response response = tester.document("query GetGreetingsByIds($ids: [ID!]!) { greetingsByIds(ids: $ids) { id } }")
+                .variable("ids", ids)
+                .execute();
+
+        response.errors()
+                .expect(e -> "greetingsByIds".equals(e.getPath()))
+                .verify();
+        verify(service, never()).getAllById(anyCollection());
+    }
+
     @SneakyThrows
     @MethodSource
     @ParameterizedTest
@@ -191,7 +253,18 @@ class GreetingGraphControllerIntegrationTest {
         final GraphQlTester.Response response = document.execute();
         response.errors().verify();
 
-        verify(service).getAll(GreetingProbe.builder().build(), pageable.equals(Pageable.unpaged()) ? PageRequest.ofSize(defaultPageSize) : pageable);
+        verify(service).getAll(GreetingProbe.builder().build(), pageable.equals(Pageable.unpaged()) ? PageRequest.ofSize(defaultPageSize) : pageable,
+                Set.of("id", "content", "locale", "created", "modified"));
+    }
+
+    @Test
+    void getGreetings_requestsOnlySelectedAttributes() {
+        tester.document("query { greetings(size: 5) { id content } }")
+                .execute()
+                .errors()
+                .verify();
+
+        verify(service).getAll(GreetingProbe.builder().build(), PageRequest.ofSize(5), Set.of("id", "content"));
     }
 
     Stream<Arguments> getGreetings() {
@@ -229,8 +302,134 @@ class GreetingGraphControllerIntegrationTest {
                     a -> assertThat(a.getModified()).isEqualTo(expectedEntry.getModified())
             );
 
-            verify(service).getOne(id);
+            verify(service).getAllById(Set.of(id));
+        });
+    }
+
+    @Test
+    void getGreeting_missing_isNotFoundError() {
+        final GraphQlTester.Response response = tester.document("query GetGreeting($id: ID!) { greeting(id: $id) { id } }")
+                .variable("id", UUID.randomUUID())
+                .execute();
+
+        response.errors()
+                .expect(e -> e.getErrorType() == ErrorType.NOT_FOUND &&
+                        GreetingGraphController.NOT_FOUND_MESSAGE.equals(e.getMessage()) &&
+                        "greeting".equals(e.getPath()))
+                .verify();
+        response.path("greeting").valueIsNull();
+    }
+
+    @Test
+    void getGreeting_aliased_loadsInOneBatch() {
+        final List<UUID> ids = List.copyOf(EXPECTED_VALUES.keySet());
+        final String document = IntStream.range(0, ids.size())
+                .mapToObj(i -> "g" + i + ": greeting(id: \"" + ids.get(i) + "\") { id content }")
+                .collect(Collectors.joining(" ", "query {", "}"));
+
+        final GraphQlTester.Response response = tester.document(document).execute();
+        response.errors().verify();
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(response.path("g" + i + ".content").entity(String.class).get())
+                    .isEqualTo(EXPECTED_VALUES.get(ids.get(i)).getContent());
+        }
+
+        verify(service).getAllById(Set.copyOf(ids));
+    }
+
+    @Test
+    void getGreetingsConnection() {
+        final List<Greeting> greetings = List.copyOf(EXPECTED_VALUES.values());
+        final String after = GreetingCursor.of(greetings.get(0)).encode();
+        when(service.getConnection(any(), anyInt(), any())).thenReturn(GreetingConnection.of(greetings.subList(1, 4), 2, true, Locale.US));
+        when(service.count(any())).thenReturn((long) greetings.size());
+
+        final GraphQlTester.Response response = tester.document("query GetGreetingsConnection($after: String) {" +
+                        "  greetingsConnection(first: 2, after: $after, locale: \"en_US\") {" +
+                        "    edges { cursor node { id content } }" +
+                        "    pageInfo { hasNextPage hasPreviousPage startCursor endCursor }" +
+                        "    totalCount" +
+                        "  }" +
+                        "}")
+                .variable("after", after)
+                .execute();
+        response.errors().verify();
+
+        response.path("greetingsConnection.edges[*].node.id").entityList(UUID.class)
+                .containsExactly(greetings.get(1).getId(), greetings.get(2).getId());
+        response.path("greetingsConnection.edges[0].cursor").entity(String.class)
+                .isEqualTo(GreetingCursor.of(greetings.get(1)).encode());
+        response.path("greetingsConnection.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(true);
+        response.path("greetingsConnection.pageInfo.hasPreviousPage").entity(Boolean.class).isEqualTo(true);
+        response.path("greetingsConnection.pageInfo.endCursor").entity(String.class)
+                .isEqualTo(GreetingCursor.of(greetings.get(2)).encode());
+        response.path("greetingsConnection.totalCount").entity(Integer.class).isEqualTo(greetings.size());
+
+        verify(service).getConnection(GreetingProbe.builder().locale(Locale.US).build(), 2, after);
+        verify(service).count(GreetingProbe.builder().locale(Locale.US).build());
+    }
+
+    @Test
+    void getGreetingsConnection_withoutTotalCount_skipsCount() {
+        when(service.getConnection(any(), anyInt(), any())).thenReturn(GreetingConnection.of(List.of(), 20, false, null));
+
+        tester.document("query { greetingsConnection { pageInfo { hasNextPage } } }")
+                .execute()
+                .path("greetingsConnection.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(false);
+
+        verify(service).getConnection(GreetingProbe.builder().build(), 20, null);
+        verify(service, never()).count(any());
+    }
+
+    @Test
+    void rootFields_resolveConcurrently() {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        doAnswer(a -> {
+            threads.add(Thread.currentThread().getName());
+            bothStarted.countDown();
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            return Page.empty();
+        }).when(service).getAll(any(), any(), anyCollection());
+        when(service.getConnection(any(), anyInt(), any())).thenAnswer(a -> {
+            threads.add(Thread.currentThread().getName());
+            bothStarted.countDown();
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            return GreetingConnection.of(List.of(), 20, false, null);
         });
+
+        tester.document("query { greetings { id } greetingsConnection { pageInfo { hasNextPage } } }")
+                .execute()
+                .errors()
+                .verify();
+
+        assertThat(threads).hasSize(2).allMatch(t -> t.startsWith("graphql-fetcher-"));
+    }
+
+    @Test
+    void getGreetingsByIds() {
+        final List<UUID> ids = new ArrayList<>(EXPECTED_VALUES.keySet());
+        ids.add(UUID.randomUUID());
+
+        final GraphQlTester.Response response = tester.document("query GetGreetingsByIds($ids: [ID!]!) {" +
+                        "  greetingsByIds(ids: $ids) {" +
+                        "    id" +
+                        "    content" +
+                        "  }" +
+                        "}")
+                .variable("ids", ids)
+                .execute();
+        response.errors().verify();
+
+        final ListOfGreetings actual = response.path("greetingsByIds").entity(ListOfGreetings.class).get();
+        assertThat(actual).hasSize(ids.size());
+        assertThat(actual.get(ids.size() - 1)).isNull();
+        for (int i = 0; i < ids.size() - 1; i++) {
+            assertThat(actual.get(i).getId()).isEqualTo(ids.get(i));
+        }
+
+        verify(service).getAllById(Set.copyOf(ids));
     }
 
     @SneakyThrows
@@ -252,6 +451,46 @@ class GreetingGraphControllerIntegrationTest {
         );
     }
 
+    @Test
+    void greetingCreated() {
+        final List<Greeting> expected = List.copyOf(EXPECTED_VALUES.values());
+        when(subscriptionService.created(any())).thenReturn(Flux.fromIterable(expected));
+
+        final List<Greeting> actual = tester.document("subscription GreetingCreated($locale: String) {" +
+                        "  greetingCreated(locale: $locale) {" +
+                        "    id" +
+                        "    content" +
+                        "    locale" +
+                        "    created" +
+                        "    modified" +
+                        "  }" +
+                        "}")
+                .variable("locale", "en_US")
+                .executeSubscription()
+                .toFlux("greetingCreated", Greeting.class)
+                .collectList()
+                .block();
+
+        assertActualMatchesExpected(actual, expected);
+
+        verify(subscriptionService).created(GreetingProbe.builder().locale(Locale.US).build());
+    }
+
+    @Test
+    void greetingsDeleted() {
+        final List<UUID> expected = List.copyOf(EXPECTED_VALUES.keySet());
+        when(subscriptionService.deleted()).thenReturn(Flux.just(expected.subList(0, 1), expected.subList(1, expected.size())));
+
+        final List<UUID> actual = tester.document("subscription { greetingsDeleted }")
+                .executeSubscription()
+                .toFlux("greetingsDeleted", ListOfIds.class)
+                .flatMapIterable(ids -> ids)
+                .collectList()
+                .block();
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
     private void assertActualMatchesExpected(final List<Greeting> actual, final List<Greeting> expected) {
         assertThat(actual).hasSize(expected.size());
 
@@ -273,4 +512,6 @@ class GreetingGraphControllerIntegrationTest {
     }
 
     private static class ListOfGreetings extends ArrayList<Greeting> {}
+
+    private static class ListOfIds extends ArrayList<UUID> {}
 }
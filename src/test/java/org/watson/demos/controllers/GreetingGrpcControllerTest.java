@@ -0,0 +1,188 @@
+package org.watson.demos.controllers;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.watson.demos.grpc.GrpcServer;
+import org.watson.demos.grpc.v1.CreateGreetingsResponse;
+import org.watson.demos.grpc.v1.GetGreetingRequest;
+import org.watson.demos.grpc.v1.Greeting;
+import org.watson.demos.grpc.v1.GreetingInput;
+import org.watson.demos.grpc.v1.GreetingsGrpc;
+import org.watson.demos.grpc.v1.ListGreetingsRequest;
+import org.watson.demos.models.GreetingConnection;
+import org.watson.demos.models.GreetingCursor;
+import org.watson.demos.models.GreetingProbe;
+import org.watson.demos.services.GreetingService;
+
+import javax.validation.Validation;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GreetingGrpcControllerTest {
+    private static final int BATCH_SIZE = 4;
+    private static final ZonedDateTime NOW = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+    private static final List<org.watson.demos.models.Greeting> GREETINGS = IntStream.range(0, 25)
+            .mapToObj(i -> org.watson.demos.models.Greeting.builder()
+                    .id(UUID.randomUUID())
+                    .content("grpc " + i)
+                    .locale(Locale.CANADA)
+                    .created(NOW.plusSeconds(i))
+                    .modified(NOW.plusSeconds(i))
+                    .build())
+            .collect(Collectors.toUnmodifiableList());
+
+    private final GreetingService service = mock(GreetingService.class);
+    private GrpcServer server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void beforeEach() {
+        final String name = InProcessServerBuilder.generateName();
+        final GreetingGrpcController controller = new GreetingGrpcController(service,
+                Validation.buildDefaultValidatorFactory().getValidator(), 2000, BATCH_SIZE);
+        server = new GrpcServer(InProcessServerBuilder.forName(name), List.of(controller), new SimpleMeterRegistry(), 2, 10, Duration.ofSeconds(1));
+        server.start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @AfterEach
+    void afterEach() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(1, TimeUnit.SECONDS);
+        server.stop();
+    }
+
+    @Test
+    void getGreeting_returnsGreeting() {
+        final org.watson.demos.models.Greeting expected = GREETINGS.get(0);
+        when(service.getOne(expected.getId())).thenReturn(Optional.of(expected));
+
+        final Greeting actual = GreetingsGrpc.newBlockingStub(channel)
+                .getGreeting(GetGreetingRequest.newBuilder().setId(expected.getId().toString()).build());
+
+        assertThat(actual).isEqualTo(GreetingGrpcController.toMessage(expected));
+        assertThat(actual.getCreated().getSeconds()).isEqualTo(expected.getCreated().toEpochSecond());
+    }
+
+    @Test
+    void getGreeting_missing_isNotFound() {
+        when(service.getOne(any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> GreetingsGrpc.newBlockingStub(channel)
+                .getGreeting(GetGreetingRequest.newBuilder().setId(UUID.randomUUID().toString()).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    void getGreeting_invalidId_isInvalidArgument() {
+        assertThatThrownBy(() -> GreetingsGrpc.newBlockingStub(channel)
+                .getGreeting(GetGreetingRequest.newBuilder().setId("not-a-uuid").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+
+    @Test
+    void listGreetings_streamsEveryKeysetPage() {
+        when(service.getConnection(any(), anyInt(), any())).thenAnswer(a -> {
+            final String after = a.getArgument(2);
+            final int first = a.getArgument(1);
+            final int from = after == null ? 0 : GREETINGS.indexOf(GREETINGS.stream()
+                    .filter(g -> GreetingCursor.of(g).encode().equals(after))
+                    .findFirst()
+                    .orElseThrow()) + 1;
+            return GreetingConnection.of(GREETINGS.subList(from, Math.min(from + first + 1, GREETINGS.size())), first, after != null, Locale.CANADA);
+        });
+
+        final List<Greeting> actual = new ArrayList<>();
+        GreetingsGrpc.newBlockingStub(channel)
+                .listGreetings(ListGreetingsRequest.newBuilder().setLocale("en_CA").setPageSize(10).build())
+                .forEachRemaining(actual::add);
+
+        assertThat(actual).containsExactlyElementsOf(GREETINGS.stream()
+                .map(GreetingGrpcController::toMessage)
+                .collect(Collectors.toList()));
+        verify(service, times(3)).getConnection(any(), anyInt(), any());
+        verify(service).getConnection(GreetingProbe.builder().locale(Locale.CANADA).build(), 10, null);
+    }
+
+    @Test
+    void createGreetings_insertsInBatches() throws ExecutionException, InterruptedException {
+        when(service.createAll(anyIterable())).thenAnswer(a -> StreamSupport.stream(a.<Iterable<org.watson.demos.models.Greeting>>getArgument(0).spliterator(), false)
+                .map(g -> g.toBuilder().id(UUID.randomUUID()).build())
+                .collect(Collectors.toList()));
+
+        final CreateGreetingsResponse actual = createGreetings(IntStream.range(0, BATCH_SIZE * 2 + 1)
+                .mapToObj(i -> GreetingInput.newBuilder().setContent("grpc " + i).setLocale("fr_CA").build())
+                .collect(Collectors.toList()))
+                .get();
+
+        assertThat(actual.getCount()).isEqualTo(BATCH_SIZE * 2 + 1);
+        assertThat(actual.getIdsList()).hasSize(BATCH_SIZE * 2 + 1).doesNotHaveDuplicates();
+        verify(service, times(3)).createAll(anyIterable());
+    }
+
+    @Test
+    void createGreetings_invalidGreeting_isInvalidArgument() {
+        final CompletableFuture<CreateGreetingsResponse> actual = createGreetings(List.of(
+                GreetingInput.newBuilder().setContent("").setLocale("en_US").build()));
+
+        assertThatThrownBy(actual::get)
+                .hasCauseInstanceOf(StatusRuntimeException.class)
+                .satisfies(e -> assertThat(((StatusRuntimeException) e.getCause()).getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT))
+                .hasMessageContaining("content");
+        verify(service, times(0)).createAll(anyIterable());
+    }
+
+    private CompletableFuture<CreateGreetingsResponse> createGreetings(final Collection<GreetingInput> inputs) {
+        final CompletableFuture<CreateGreetingsResponse> response = new CompletableFuture<>();
+        final StreamObserver<GreetingInput> requests = GreetingsGrpc.newStub(channel).createGreetings(new StreamObserver<>() {
+            @Override
+            public void onNext(final CreateGreetingsResponse value) {
+                response.complete(value);
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                response.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                // The single response completes the future.
+            }
+        });
+        inputs.forEach(requests::onNext);
+        requests.onCompleted();
+        return response;
+    }
+}
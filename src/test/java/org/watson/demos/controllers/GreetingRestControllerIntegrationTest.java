@@ -1,7 +1,11 @@
 package org.watson.demos.controllers;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Named;
@@ -12,9 +16,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.EmptySource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,11 +32,16 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.watson.demos.configurations.JacksonConfiguration;
 import org.watson.demos.models.Greeting;
 import org.watson.demos.models.GreetingProbe;
 import org.watson.demos.services.GreetingService;
+import org.watson.demos.services.GreetingStreamService;
+import org.watson.demos.validation.validators.BulkValidationPool;
 
 import javax.annotation.Resource;
+import java.sql.SQLException;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
@@ -38,6 +50,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -50,6 +63,7 @@ import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -57,6 +71,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.watson.demos.utilities.ConverterTestUtility.subList;
 import static org.watson.demos.utilities.ConverterTestUtility.toBiConsumer;
@@ -66,6 +81,7 @@ import static org.watson.demos.utilities.GeneratorTestUtility.generateGreetings;
 @Tag("Integration")
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @WebMvcTest(GreetingRestController.class)
+@Import({JacksonConfiguration.class, BulkValidationPool.class, SimpleMeterRegistry.class})
 class GreetingRestControllerIntegrationTest {
     private static final String VERSION_1 = "v1";
     private static final Map<UUID, Greeting> INPUT_VALUES = new LinkedHashMap<>();
@@ -87,6 +103,8 @@ class GreetingRestControllerIntegrationTest {
 
     @MockBean
     private GreetingService service;
+    @MockBean
+    private GreetingStreamService streamService;
     @Resource
     private MockMvc mockMvc;
     @Resource
@@ -140,6 +158,28 @@ class GreetingRestControllerIntegrationTest {
         );
     }
 
+    @SneakyThrows
+    @MethodSource("postGreetings")
+    @ParameterizedTest
+    void postGreetings_returnMinimal(final List<Greeting> expected) {
+        final MvcResult result = mockMvc.perform(post("/{version}/greetings", VERSION_1)
+                        .header(GreetingRestController.PREFER, GreetingRestController.RETURN_MINIMAL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(expected)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(GreetingRestController.PREFERENCE_APPLIED, GreetingRestController.RETURN_MINIMAL))
+                .andExpect(header().doesNotExist(HttpHeaders.LOCATION))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_LOCATION))
+                .andReturn();
+
+        final JsonNode actual = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(actual.get("count").asInt()).isEqualTo(expected.size());
+        assertThat(actual.get("ids")).map(JsonNode::asText).containsExactlyElementsOf(service.createAll(expected).stream()
+                .map(g -> g.getId().toString())
+                .collect(Collectors.toUnmodifiableList()));
+        assertThat(actual.fieldNames()).toIterable().containsExactly("count", "ids");
+    }
+
     @SneakyThrows
     @MethodSource
     @ParameterizedTest
@@ -182,6 +222,96 @@ class GreetingRestControllerIntegrationTest {
         }
     }
 
+    @SneakyThrows
+    @Test
+    void getGreeting_missing_isNotFound() {
+        final UUID id = UUID.randomUUID();
+        mockMvc.perform(get("/{version}/greetings/{id}", VERSION_1, id))
+                .andExpect(status().isNotFound())
+                .andExpect(status().reason("greeting '" + id + "' Not Found"));
+    }
+
+    @SneakyThrows
+    @Test
+    void postGreetings_existing_isConflict() {
+        doThrow(new DataIntegrityViolationException("duplicate", new SQLException("duplicate", GreetingRestController.UNIQUE_VIOLATION))).when(service).createAll(anyCollection());
+
+        mockMvc.perform(post("/{version}/greetings", VERSION_1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(subList(INPUT_VALUES.values(), 0, 2))))
+                .andExpect(status().isConflict())
+                .andExpect(status().reason("greeting already exists"));
+    }
+
+    @SneakyThrows
+    @Test
+    void getGreetingsById() {
+        final List<UUID> ids = List.copyOf(EXPECTED_VALUES.keySet()).subList(0, 3);
+        when(service.getAllById(any())).thenAnswer(a -> ((Collection<?>) a.getArgument(0, Collection.class)).stream()
+                .map(EXPECTED_VALUES::get)
+                .collect(Collectors.toUnmodifiableList()));
+
+        final MvcResult result = mockMvc.perform(get("/{version}/greetings", VERSION_1)
+                        .param("id", ids.stream().map(UUID::toString).collect(Collectors.joining(","))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(objectMapper.readValue(result.getResponse().getContentAsString(), ListOfGreetings.class))
+                .containsExactlyInAnyOrderElementsOf(ids.stream().map(EXPECTED_VALUES::get).collect(Collectors.toUnmodifiableList()));
+        verify(service).getAllById(Set.copyOf(ids));
+    }
+
+    @SneakyThrows
+    @ValueSource(strings = {MediaType.APPLICATION_CBOR_VALUE, GreetingRestController.APPLICATION_SMILE_VALUE})
+    @ParameterizedTest
+    void postGreetings_binaryFormat(final String type) {
+        final MediaType mediaType = MediaType.valueOf(type);
+        final ObjectMapper binaryMapper = binaryMapper(mediaType);
+        final List<Greeting> expected = subList(INPUT_VALUES.values(), 1, INPUT_VALUES.size());
+
+        final MvcResult result = mockMvc.perform(post("/{version}/greetings", VERSION_1)
+                        .contentType(mediaType)
+                        .accept(mediaType)
+                        .content(binaryMapper.writeValueAsBytes(expected)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(mediaType))
+                .andReturn();
+
+        assertThat(binaryMapper.readValue(result.getResponse().getContentAsByteArray(), ListOfGreetings.class))
+                .containsExactlyInAnyOrderElementsOf(service.createAll(expected));
+    }
+
+    @SneakyThrows
+    @ValueSource(strings = {MediaType.APPLICATION_CBOR_VALUE, GreetingRestController.APPLICATION_SMILE_VALUE})
+    @ParameterizedTest
+    void getGreetings_binaryFormat(final String type) {
+        final MediaType mediaType = MediaType.valueOf(type);
+        final Pageable pageable = PageRequest.ofSize(3);
+
+        final ResultActions result = mockMvc.perform(get("/{version}/greetings" + toQueryString(pageable), VERSION_1)
+                        .accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType));
+
+        assertPageHeaders(result, pageable);
+        assertThat(binaryMapper(mediaType).readValue(result.andReturn().getResponse().getContentAsByteArray(), ListOfGreetings.class))
+                .containsExactlyElementsOf(service.getAll(GreetingProbe.builder().build(), pageable));
+    }
+
+    @SneakyThrows
+    @Test
+    void streamGreetings() {
+        when(streamService.subscribe(any())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/{version}/greetings/stream", VERSION_1)
+                        .param("locale", "en_US")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(streamService).subscribe(GreetingProbe.builder().locale(Locale.US).build());
+    }
+
     @SneakyThrows
     @MethodSource
     @ParameterizedTest
@@ -257,6 +387,11 @@ class GreetingRestControllerIntegrationTest {
         }
     }
 
+    private static ObjectMapper binaryMapper(final MediaType mediaType) {
+        return new ObjectMapper(MediaType.APPLICATION_CBOR.equals(mediaType) ? new CBORFactory() : new SmileFactory())
+                .findAndRegisterModules();
+    }
+
     private int calculateTotalPages(final Pageable pageable) {
         return (int) Math.ceil(EXPECTED_VALUES.size() / (double) (pageable.isUnpaged() ? 20 : pageable.getPageSize()));
     }
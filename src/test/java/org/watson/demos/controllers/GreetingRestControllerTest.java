@@ -5,14 +5,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.watson.demos.exceptions.ExpectedStatusException;
 import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingChange;
 import org.watson.demos.models.GreetingProbe;
+import org.watson.demos.models.GreetingsCreated;
 import org.watson.demos.services.GreetingService;
+import org.watson.demos.services.GreetingStreamService;
 
 import javax.annotation.Resource;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -23,7 +32,10 @@ import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.watson.demos.utilities.GeneratorTestUtility.generateGreetings;
@@ -35,6 +47,8 @@ class GreetingRestControllerTest {
 
     @MockBean
     private GreetingService service;
+    @MockBean
+    private GreetingStreamService streamService;
 
     @Resource
     private GreetingRestController controller;
@@ -54,9 +68,53 @@ class GreetingRestControllerTest {
         when(service.getOne(any())).thenReturn(Optional.empty());
 
         final UUID id = UUID.randomUUID();
-        assertThatThrownBy(() -> controller.getGreeting(id))
-                .isInstanceOf(ResponseStatusException.class)
-                .hasMessageContaining("greeting '%s' Not Found", id.toString());
+        final Throwable first = catchThrowable(() -> controller.getGreeting(id));
+
+        assertThat(first).isInstanceOfSatisfying(ExpectedStatusException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.NOT_FOUND))
+                .hasMessageContaining("greeting '" + id + "' Not Found");
+        assertThat(first.getStackTrace()).isEmpty();
+        assertThat(catchThrowable(() -> controller.getGreeting(id))).isNotSameAs(first);
+    }
+
+    @Test
+    void create_throwsConflictWhenGreetingExists() {
+        when(service.createAll(any())).thenThrow(new DataIntegrityViolationException("duplicate",
+                new SQLException("Unique index or primary key violation", GreetingRestController.UNIQUE_VIOLATION)));
+
+        final List<Greeting> input = generateGreetings("create-conflict-controller-content");
+        assertThatThrownBy(() -> controller.createGreetings(input))
+                .isInstanceOfSatisfying(ExpectedStatusException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT))
+                .hasMessageContaining(GreetingRestController.CONFLICT_REASON);
+    }
+
+    @Test
+    void create_throwsConflictOnDuplicateKey() {
+        when(service.createAll(any())).thenThrow(new DuplicateKeyException("duplicate"));
+
+        final List<Greeting> input = generateGreetings("create-duplicate-key-controller-content");
+        assertThatThrownBy(() -> controller.createGreetings(input))
+                .isInstanceOfSatisfying(ExpectedStatusException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    void create_rethrowsOtherIntegrityViolations() {
+        final DataIntegrityViolationException expected = new DataIntegrityViolationException("not null",
+                new SQLException("NULL not allowed for column", "23502"));
+        when(service.createAll(any())).thenThrow(expected);
+
+        final List<Greeting> input = generateGreetings("create-not-null-controller-content");
+        assertThatThrownBy(() -> controller.createGreetings(input)).isSameAs(expected);
+    }
+
+    @Test
+    void getAllById_passesThroughToService() {
+        when(service.getAllById(any())).thenReturn(TEST_CONTENT);
+
+        final Set<UUID> ids = Set.of(UUID.randomUUID(), UUID.randomUUID());
+
+        assertThat(controller.getGreetingsById(ids)).containsExactlyElementsOf(TEST_CONTENT);
+
+        verify(service).getAllById(ids);
     }
 
     @Test
@@ -70,6 +128,25 @@ class GreetingRestControllerTest {
         verify(service).createAll(input);
     }
 
+    @Test
+    void createMinimal_returnsCountAndIds() {
+        final List<Greeting> created = TEST_CONTENT.stream()
+                .map(g -> g.toBuilder().id(UUID.randomUUID()).build())
+                .collect(Collectors.toUnmodifiableList());
+        when(service.createAll(any())).thenReturn(created);
+
+        final List<Greeting> input = generateGreetings("create-minimal-controller-content");
+        final ResponseEntity<GreetingsCreated> actual = controller.createGreetingsMinimal(input);
+
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(actual.getHeaders().getFirst(GreetingRestController.PREFERENCE_APPLIED)).isEqualTo(GreetingRestController.RETURN_MINIMAL);
+        assertThat(actual.getBody()).isEqualTo(new GreetingsCreated(created.size(), created.stream()
+                .map(Greeting::getId)
+                .collect(Collectors.toUnmodifiableList())));
+
+        verify(service).createAll(input);
+    }
+
     @Test
     void getAll_passesThroughToService() {
         when(service.getAll(any(), any())).thenReturn(new PageImpl<>(TEST_CONTENT));
@@ -82,6 +159,27 @@ class GreetingRestControllerTest {
         verify(service).getAll(probe, pageable);
     }
 
+    @Test
+    void getChanges_passesThroughToService() {
+        final List<GreetingChange> expected = List.of(GreetingChange.of(1, GreetingChange.Type.DELETED, UUID.randomUUID()));
+        when(service.getChanges(anyLong(), anyInt())).thenReturn(expected);
+
+        assertThat(controller.getChanges(42, 7)).isSameAs(expected);
+
+        verify(service).getChanges(42, 7);
+    }
+
+    @Test
+    void streamGreetings_passesThroughToStreamService() {
+        final SseEmitter expected = new SseEmitter();
+        final GreetingProbe probe = GreetingProbe.builder().locale(Locale.CANADA).build();
+        when(streamService.subscribe(any())).thenReturn(expected);
+
+        assertThat(controller.streamGreetings(probe)).isSameAs(expected);
+
+        verify(streamService).subscribe(probe);
+    }
+
     @Test
     void delete_passesThroughToService() {
         final Set<UUID> input = IntStream.range(0, 3).boxed()
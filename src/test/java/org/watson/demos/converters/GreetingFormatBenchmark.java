@@ -0,0 +1,115 @@
+package org.watson.demos.converters;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.watson.demos.configurations.JacksonConfiguration;
+import org.watson.demos.models.Greeting;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Encode and decode cost per page of {@link Greeting}s as json, CBOR and Smile, with the application's serializers.
+ * Run with {@code main}, which prints the payload size of each format and adds the {@link GCProfiler} for
+ * {@code gc.alloc.rate.norm} (bytes allocated per page).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GreetingFormatBenchmark {
+    private static final int PAGE_SIZE = 200;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 20);
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<Greeting> greetings;
+    private byte[] encoded;
+
+    public static void main(final String[] args) throws RunnerException, IOException {
+        final List<Greeting> greetings = greetings();
+        for (final String format : List.of("json", "cbor", "smile")) {
+            System.out.printf("%s: %d bytes per page of %d%n", format, mapper(format).writeValueAsBytes(greetings).length, PAGE_SIZE);
+        }
+        new Runner(new OptionsBuilder()
+                .include(GreetingFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        final ObjectMapper mapper = mapper(format);
+        greetings = greetings();
+        writer = mapper.writerFor(Greeting[].class);
+        reader = mapper.readerFor(Greeting[].class);
+        encoded = writer.writeValueAsBytes(greetings.toArray(Greeting[]::new));
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        body.reset();
+        writer.writeValue(body, greetings.toArray(Greeting[]::new));
+        return body.size();
+    }
+
+    @Benchmark
+    public Greeting[] decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private static ObjectMapper mapper(final String format) {
+        final JsonFactory factory = "cbor".equals(format) ? new CBORFactory() : "smile".equals(format) ? new SmileFactory() : new JsonFactory();
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .modulesToInstall(new JacksonConfiguration().serializersModule())
+                .build();
+    }
+
+    private static List<Greeting> greetings() {
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        return IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> Greeting.builder()
+                        .id(UUID.randomUUID())
+                        .content("benchmark " + i)
+                        .locale(Locale.CANADA_FRENCH)
+                        .created(now.plusSeconds(i))
+                        .modified(now.plusSeconds(i))
+                        .build())
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
@@ -0,0 +1,119 @@
+package org.watson.demos.converters;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.watson.demos.models.Greeting;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Throughput and allocation per page of {@link UnwrappedPageHttpMessageConverter}, against the previous
+ * {@code writerFor(Stream.class)} implementation. Run with {@code main}, which adds the {@link GCProfiler} for
+ * {@code gc.alloc.rate.norm} (bytes allocated per page).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UnwrappedPageHttpMessageConverterBenchmark {
+    @Param({"20", "2000"})
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper streamMapper = objectMapper.copy().registerModule(new Jdk8Module());
+    private final UnwrappedPageHttpMessageConverter converter = new UnwrappedPageHttpMessageConverter(objectMapper);
+    private final ReusableOutputMessage message = new ReusableOutputMessage();
+    private Page<Greeting> page;
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UnwrappedPageHttpMessageConverterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setup() {
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        page = new PageImpl<>(IntStream.range(0, pageSize)
+                .mapToObj(i -> Greeting.builder()
+                        .id(UUID.randomUUID())
+                        .content("benchmark " + i)
+                        .locale(Locale.US)
+                        .created(now)
+                        .modified(now)
+                        .build())
+                .collect(Collectors.toUnmodifiableList()));
+    }
+
+    @Benchmark
+    public int converter() throws IOException {
+        converter.write(page, MediaType.APPLICATION_JSON, message.reset());
+        return message.body.size();
+    }
+
+    @Benchmark
+    public int streamWriter() throws IOException {
+        final JsonGenerator generator = streamMapper.getFactory()
+                .createGenerator(message.reset().getBody());
+        streamMapper.writerFor(Stream.class)
+                .writeValue(generator, page.get());
+        generator.flush();
+        return message.body.size();
+    }
+
+    private static class ReusableOutputMessage implements HttpOutputMessage {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 20);
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private ReusableOutputMessage reset() {
+            body.reset();
+            headers.clear();
+            return this;
+        }
+
+        @Override
+        public ByteArrayOutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
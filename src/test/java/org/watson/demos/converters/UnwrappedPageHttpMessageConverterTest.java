@@ -2,6 +2,8 @@ package org.watson.demos.converters;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.boot.context.annotation.UserConfigurations;
@@ -21,6 +23,7 @@ import org.springframework.http.converter.HttpMessageNotReadableException;
 import javax.annotation.Resource;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -55,6 +58,65 @@ class UnwrappedPageHttpMessageConverterTest {
         assertThat(objectMapper.readValue(stream.toString(), new TypeReference<List<String>>() {})).isEqualTo(expected);
     }
 
+    @Test
+    void writeInternalMarshalsMixedAndNullContents() throws IOException {
+        final List<Object> expected = Arrays.asList("a", 1, null, Map.of("k", "v"));
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        when(message.getBody()).thenReturn(stream);
+        when(message.getHeaders()).thenReturn(new HttpHeaders());
+
+        converter.write(new PageImpl<>(expected), MediaType.APPLICATION_JSON, message);
+        assertThat(objectMapper.readValue(stream.toString(), new TypeReference<List<Object>>() {})).isEqualTo(expected);
+    }
+
+    @Test
+    void writeInternalMarshalsEmptyContents() throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        when(message.getBody()).thenReturn(stream);
+        when(message.getHeaders()).thenReturn(new HttpHeaders());
+
+        converter.write(Page.empty(), MediaType.APPLICATION_JSON, message);
+        assertThat(stream.toString()).isEqualTo("[]");
+    }
+
+    @Test
+    void writeInternalKeepsMapperIndentation() throws IOException {
+        final ObjectMapper indenting = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        final UnwrappedPageHttpMessageConverter indentingConverter = new UnwrappedPageHttpMessageConverter(indenting);
+        final List<Map<String, String>> expected = List.of(Map.of("k", "v"), Map.of("k", "w"));
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        when(message.getBody()).thenReturn(stream);
+        when(message.getHeaders()).thenReturn(new HttpHeaders());
+
+        indentingConverter.write(new PageImpl<>(expected), MediaType.APPLICATION_JSON, message);
+        assertThat(stream.toString()).isEqualTo(indenting.writeValueAsString(expected));
+    }
+
+    @Test
+    void writeInternalMarshalsOtherFormats() throws IOException {
+        final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+        final UnwrappedPageHttpMessageConverter cborConverter = new UnwrappedPageHttpMessageConverter(cborMapper, List.of(MediaType.APPLICATION_CBOR));
+        final List<String> expected = List.of("a", "b", "c");
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        when(message.getBody()).thenReturn(stream);
+        when(message.getHeaders()).thenReturn(new HttpHeaders());
+
+        assertThat(cborConverter.canWrite(PageImpl.class, MediaType.APPLICATION_CBOR)).isTrue();
+        assertThat(cborConverter.canWrite(PageImpl.class, MediaType.APPLICATION_JSON)).isFalse();
+
+        cborConverter.write(new PageImpl<>(expected), MediaType.APPLICATION_CBOR, message);
+        assertThat(cborMapper.readValue(stream.toByteArray(), new TypeReference<List<String>>() {})).isEqualTo(expected);
+    }
+
+    @Test
+    void constructorDoesNotRegisterModules() {
+        assertThat(objectMapper.getRegisteredModuleIds()).isEmpty();
+    }
+
     @Test
     void supportsAcceptsClasses() {
         assertThat(Stream.of(Page.class, PageImpl.class, GeoPage.class))
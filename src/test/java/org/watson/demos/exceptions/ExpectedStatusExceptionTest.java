@@ -0,0 +1,30 @@
+package org.watson.demos.exceptions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpectedStatusExceptionTest {
+    private final ExpectedStatusException exception = new ExpectedStatusException(HttpStatus.NOT_FOUND, "thing Not Found");
+
+    @Test
+    void capturesNoStackTrace() {
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.fillInStackTrace()).isSameAs(exception);
+        assertThat(exception.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void keepsNoSuppressedExceptions() {
+        exception.addSuppressed(new IllegalStateException("expected"));
+
+        assertThat(exception.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    void carriesStatusAndReason() {
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(exception.getReason()).isEqualTo("thing Not Found").isEqualTo(exception.getMessage());
+    }
+}
@@ -0,0 +1,153 @@
+package org.watson.demos.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogWriterTest {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path directory;
+    private AccessLogWriter writer;
+
+    @AfterEach
+    void afterEach() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void append_writesRecordsOnStop() throws IOException {
+        writer = writer(16, DataSize.ofMegabytes(1), 2);
+        writer.start();
+
+        writer.append("GET", "/things/path", "x=y&a=b", "10.10.10.10", 200, 30);
+        writer.append("POST", "/things", null, "10.10.10.11", -1, 5);
+        writer.stop();
+
+        final List<String> actual = Files.readAllLines(directory.resolve("access.log"));
+        assertThat(actual).hasSize(2);
+        assertThat(actual.get(0)).endsWith(" GET=/things/path?x=y&a=b;client=10.10.10.10;status=200;duration=30");
+        assertThat(actual.get(1)).endsWith(" POST=/things;client=10.10.10.11;status=null;duration=5");
+        assertThat(registry.get("access.log.buffered").gauge().value()).isZero();
+    }
+
+    @Test
+    void append_fullBuffer_dropsAndCounts() {
+        writer = writer(2, DataSize.ofMegabytes(1), 2);
+
+        assertThat(writer.append("GET", "/1", null, "client", 200, 1)).isTrue();
+        assertThat(writer.append("GET", "/2", null, "client", 200, 1)).isTrue();
+        assertThat(writer.append("GET", "/3", null, "client", 200, 1)).isFalse();
+
+        assertThat(registry.get("access.log.dropped").counter().count()).isOne();
+        assertThat(registry.get("access.log.buffered").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void append_writesBufferedRecordsOnceStarted() throws IOException {
+        writer = writer(4, DataSize.ofMegabytes(1), 2);
+        writer.append("GET", "/1", null, "client", 200, 1);
+
+        writer.start();
+        writer.stop();
+
+        assertThat(Files.readAllLines(directory.resolve("access.log"))).hasSize(1);
+    }
+
+    @Test
+    void append_afterStop_dropsAndCounts() throws IOException {
+        writer = writer(4, DataSize.ofMegabytes(1), 2);
+        writer.start();
+        writer.stop();
+
+        assertThat(writer.append("GET", "/1", null, "client", 200, 1)).isFalse();
+
+        assertThat(registry.get("access.log.dropped").counter().count()).isOne();
+        assertThat(registry.get("access.log.buffered").gauge().value()).isZero();
+        assertThat(Files.readAllLines(directory.resolve("access.log"))).isEmpty();
+    }
+
+    @Test
+    void getPhase_stopsAfterWebServer() {
+        writer = writer(2, DataSize.ofMegabytes(1), 2);
+
+        assertThat(writer.getPhase()).isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1);
+    }
+
+    @Test
+    void append_rotatesFilesBySize() throws IOException {
+        writer = writer(64, DataSize.ofBytes(1), 2);
+        writer.start();
+
+        for (int i = 0; i < 10; i++) {
+            writer.append("GET", "/" + i, null, "client", 200, 1);
+        }
+        writer.stop();
+
+        assertThat(directory.resolve("access.log")).exists();
+        assertThat(directory.resolve("access.log.1")).exists();
+        assertThat(directory.resolve("access.log.2")).exists();
+        assertThat(directory.resolve("access.log.3")).doesNotExist();
+        final List<String> newest = Files.readAllLines(directory.resolve("access.log"));
+        assertThat(newest).hasSize(1);
+        assertThat(newest.get(0)).contains("GET=/9;");
+    }
+
+    @Test
+    void append_failedRotation_dropsBatchAndReopens() throws IOException {
+        writer = writer(64, DataSize.ofBytes(150), 1);
+        writer.start();
+        writer.append("GET", "/1", null, "client", 200, 1);
+        awaitWritten(1);
+
+        final Path blocker = Files.createDirectories(directory.resolve("access.log.1").resolve("blocker"));
+        writer.append("GET", "/2/" + "x".repeat(100), null, "client", 200, 1);
+        awaitDropped(1);
+
+        Files.delete(blocker);
+        Files.delete(blocker.getParent());
+        writer.append("GET", "/3", null, "client", 200, 1);
+        writer.stop();
+
+        assertThat(registry.get("access.log.dropped").counter().count()).isOne();
+        final List<String> actual = Files.readAllLines(directory.resolve("access.log"));
+        assertThat(actual).hasSize(2);
+        assertThat(actual.get(0)).contains("GET=/1;");
+        assertThat(actual.get(1)).contains("GET=/3;");
+    }
+
+    private void awaitWritten(final int lines) throws IOException {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (Files.readAllLines(directory.resolve("access.log")).size() < lines && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(Files.readAllLines(directory.resolve("access.log"))).hasSize(lines);
+    }
+
+    private void awaitDropped(final int count) {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (registry.get("access.log.dropped").counter().count() < count && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(registry.get("access.log.dropped").counter().count()).isEqualTo(count);
+    }
+
+    private AccessLogWriter writer(final int bufferSize, final DataSize maxFileSize, final int maxHistory) {
+        return new AccessLogWriter(directory.resolve("access.log"), bufferSize, 1, maxFileSize, maxHistory, Duration.ofMillis(10), registry);
+    }
+}
@@ -13,7 +13,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
@@ -24,11 +29,15 @@ import java.io.IOException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -130,6 +139,89 @@ class RequestLoggingFilterTest {
         verify(mockChain).doFilter(mockRequest, mockResponse);
     }
 
+    @Test
+    void doFilter_AppendsToAccessLogWriterInsteadOfLogging() throws IOException, ServletException {
+        final AccessLogWriter writer = mock(AccessLogWriter.class);
+
+        new RequestLoggingFilter(writer, null).doFilter(mockRequest, mockResponse, mockChain);
+
+        assertThat(listAppender.list).isEmpty();
+        verify(writer).append(eq("GET"), eq("/things/path"), eq("x=y&a=b"), eq("10.10.10.10"), eq(200), anyLong());
+        verify(mockChain).doFilter(mockRequest, mockResponse);
+    }
+
+    @Test
+    void doFilter_AppendsMissingStatusToAccessLogWriter() throws IOException, ServletException {
+        final AccessLogWriter writer = mock(AccessLogWriter.class);
+
+        new RequestLoggingFilter(writer, null).doFilter(mockRequest, mock(ServletResponse.class), mockChain);
+
+        verify(writer).append(eq("GET"), eq("/things/path"), eq("x=y&a=b"), eq("10.10.10.10"), eq(-1), anyLong());
+    }
+
+    @Test
+    void doFilter_RecordsRouteTimerInNanos() throws IOException, ServletException {
+        final RouteTimers timers = mock(RouteTimers.class);
+
+        new RequestLoggingFilter(null, timers).doFilter(mockRequest, mockResponse, mockChain);
+
+        verify(timers).record(eq(mockRequest), eq(200), longThat(d -> d > 0));
+        assertLogLineMatches("GET=/things/path?x=y&a=b;client=10.10.10.10;status=200;duration=", mockRequest, mockResponse);
+    }
+
+    @Test
+    void doFilter_RecordsRouteTimerAsServerErrorWhenChainThrows() throws IOException, ServletException {
+        final RouteTimers timers = mock(RouteTimers.class);
+        doThrow(new ServletException()).when(mockChain).doFilter(any(), any());
+
+        try {
+            new RequestLoggingFilter(null, timers).doFilter(mockRequest, mockResponse, mockChain);
+            fail("Should have thrown exception");
+        } catch (ServletException ignored) {
+        }
+
+        verify(timers).record(eq(mockRequest), eq(500), anyLong());
+    }
+
+    @Test
+    void doFilter_RecordsAsyncRequestOnCompletion() throws IOException, ServletException {
+        final RouteTimers timers = mock(RouteTimers.class);
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        request.setAsyncSupported(true);
+        doAnswer(a -> request.startAsync()).when(mockChain).doFilter(request, response);
+
+        new RequestLoggingFilter(null, timers).doFilter(request, response, mockChain);
+
+        assertThat(listAppender.list).isEmpty();
+        verifyNoInteractions(timers);
+
+        response.setStatus(201);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        verify(timers).record(eq(request), eq(201), longThat(d -> d > 0));
+        assertThat(listAppender.list).singleElement()
+                .satisfies(e -> assertThat(e.getFormattedMessage()).startsWith("POST=/graphql;client=127.0.0.1;status=201;duration="));
+    }
+
+    @Test
+    void doFilter_RecordsAsyncTimeoutAsServerError() throws IOException, ServletException {
+        final RouteTimers timers = mock(RouteTimers.class);
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/greetings/stream");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        request.setAsyncSupported(true);
+        doAnswer(a -> request.startAsync()).when(mockChain).doFilter(request, response);
+
+        new RequestLoggingFilter(null, timers).doFilter(request, response, mockChain);
+        final MockAsyncContext context = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onTimeout(new AsyncEvent(context, request, response));
+        }
+        context.complete();
+
+        verify(timers).record(eq(request), eq(500), anyLong());
+    }
+
     private void assertLogLineMatches(final String logLinePrefix, final HttpServletRequest request, final ServletResponse response) throws IOException, ServletException {
         assertThat(listAppender.list).hasSize(1);
         assertThat(listAppender.list.get(0).getLevel()).isEqualTo(Level.INFO);
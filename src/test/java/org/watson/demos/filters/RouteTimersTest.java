@@ -0,0 +1,62 @@
+package org.watson.demos.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteTimersTest {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final RouteTimers timers = new RouteTimers(registry, false, new double[]{0.99});
+
+    @Test
+    void record_tagsRouteTemplateNotUri() {
+        for (int i = 0; i < 3; i++) {
+            final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/greetings/" + i);
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/greetings/{id}");
+            timers.record(request, 200, 1_500_000);
+        }
+
+        final Timer actual = registry.get(RouteTimers.METRIC_NAME)
+                .tags("route", "/v1/greetings/{id}", "method", "GET", "status", "200")
+                .timer();
+        assertThat(actual.count()).isEqualTo(3);
+        assertThat(actual.totalTime(TimeUnit.NANOSECONDS)).isEqualTo(4_500_000);
+        assertThat(registry.get(RouteTimers.METRIC_NAME).timers()).hasSize(1);
+    }
+
+    @CsvSource({"404,NOT_FOUND", "302,REDIRECTION", "200,UNKNOWN", "500,UNKNOWN"})
+    @ParameterizedTest
+    void record_unmatchedRoute(final int status, final String expected) {
+        timers.record(new MockHttpServletRequest("GET", "/v1/random/" + status), status, 1);
+
+        assertThat(registry.get(RouteTimers.METRIC_NAME).tag("route", expected).tag("status", String.valueOf(status)).timer().count()).isOne();
+    }
+
+    @Test
+    void record_percentileHistogramOnlyWhenEnabled() {
+        final MeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        new RouteTimers(prometheus, true, new double[0]).record(new MockHttpServletRequest("GET", "/v1/histogram"), 200, 1);
+        new RouteTimers(prometheus, false, new double[0]).record(new MockHttpServletRequest("GET", "/v1/plain"), 201, 1);
+
+        assertThat(prometheus.get(RouteTimers.METRIC_NAME).tag("status", "200").timer().takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(prometheus.get(RouteTimers.METRIC_NAME).tag("status", "201").timer().takeSnapshot().histogramCounts()).isEmpty();
+    }
+
+    @Test
+    void record_nonstandardMethodIsOther() {
+        timers.record(new MockHttpServletRequest("RANDOM", "/v1/greetings"), 405, 1);
+
+        assertThat(registry.get(RouteTimers.METRIC_NAME).tag("method", "OTHER").timer().count()).isOne();
+    }
+}
@@ -0,0 +1,134 @@
+package org.watson.demos.graphql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResultImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.execution.ThreadLocalAccessor;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchGraphQlHttpHandlerTest {
+    private static final URI URI = java.net.URI.create("http://localhost/graphql");
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch allStarted = new CountDownLatch(3);
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    private final WebGraphQlHandler graphQlHandler = WebGraphQlHandler.builder(request -> Mono.fromCallable(() -> {
+        threads.add(Thread.currentThread().getName());
+        allStarted.countDown();
+        allStarted.await(5, TimeUnit.SECONDS);
+        return new DefaultExecutionGraphQlResponse(request.toExecutionInput(), ExecutionResultImpl.newExecutionResult()
+                .data(Map.of("document", request.getDocument()))
+                .build());
+    })).build();
+    private final BatchGraphQlHttpHandler handler = new BatchGraphQlHttpHandler(graphQlHandler, new ObjectMapper(), registry, 3, 3, 0);
+
+    @AfterEach
+    void afterEach() {
+        handler.destroy();
+    }
+
+    @Test
+    void execute_operations_runConcurrentlyInRequestOrder() {
+        final List<Map<String, Object>> actual = handler.execute(List.of(
+                Map.of("query", "{ a }"),
+                Map.of("query", "{ b }"),
+                Map.of("query", "{ c }")
+        ), URI, new HttpHeaders(), Locale.US).block(Duration.ofSeconds(10));
+
+        assertThat(actual).extracting(r -> r.get("data")).containsExactly(
+                Map.of("document", "{ a }"),
+                Map.of("document", "{ b }"),
+                Map.of("document", "{ c }"));
+        assertThat(threads).hasSize(3).allMatch(t -> t.startsWith("graphql-batch-"));
+        assertThat(registry.get("executor.pool.max").tag("name", BatchGraphQlHttpHandler.NAME).gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void execute_invalidOperation_failsOnlyItsEntry() {
+        final BatchGraphQlHttpHandler single = new BatchGraphQlHttpHandler(WebGraphQlHandler.builder(request -> Mono.just(
+                new DefaultExecutionGraphQlResponse(request.toExecutionInput(), ExecutionResultImpl.newExecutionResult().data(Map.of()).build()))).build(),
+                new ObjectMapper(), registry, 3, 1, 0);
+        try {
+            final List<Map<String, Object>> actual = single.execute(List.of(
+                    Map.of("query", "{ a }"),
+                    Map.of("variables", Map.of())
+            ), URI, new HttpHeaders(), Locale.US).block(Duration.ofSeconds(10));
+
+            assertThat(actual).hasSize(2);
+            assertThat(actual.get(0)).containsKey("data").doesNotContainKey("errors");
+            assertThat(actual.get(1)).containsOnlyKeys("errors");
+        } finally {
+            single.destroy();
+        }
+    }
+
+    @Test
+    void execute_operations_seeThreadLocalValuesLikeSingleRequest() {
+        final WebGraphQlHandler tenantHandler = WebGraphQlHandler.builder(request -> Mono.fromCallable(() ->
+                        new DefaultExecutionGraphQlResponse(request.toExecutionInput(), ExecutionResultImpl.newExecutionResult()
+                                .data(Map.of("tenant", String.valueOf(TENANT.get())))
+                                .build())))
+                .threadLocalAccessor(new TenantAccessor())
+                .build();
+        final BatchGraphQlHttpHandler batch = new BatchGraphQlHttpHandler(tenantHandler, new ObjectMapper(), registry, 3, 2, 0);
+        TENANT.set("acme");
+        try {
+            final Object single = tenantHandler.handleRequest(new WebGraphQlRequest(URI, new HttpHeaders(), Map.of("query", "{ a }"), "1", Locale.US))
+                    .map(WebGraphQlResponse::toMap)
+                    .block(Duration.ofSeconds(10))
+                    .get("data");
+
+            final List<Map<String, Object>> actual = batch.execute(List.of(
+                    Map.of("query", "{ a }"),
+                    Map.of("query", "{ b }"),
+                    Map.of("query", "{ c }")
+            ), URI, new HttpHeaders(), Locale.US).block(Duration.ofSeconds(10));
+
+            assertThat(single).isEqualTo(Map.of("tenant", "acme"));
+            assertThat(actual).extracting(r -> r.get("data")).containsOnly(single);
+            assertThat(TENANT.get()).isEqualTo("acme");
+        } finally {
+            TENANT.remove();
+            batch.destroy();
+        }
+    }
+
+    private static final class TenantAccessor implements ThreadLocalAccessor {
+        @Override
+        public void extractValues(final Map<String, Object> container) {
+            Optional.ofNullable(TENANT.get()).ifPresent(t -> container.put("tenant", t));
+        }
+
+        @Override
+        public void restoreValues(final Map<String, Object> values) {
+            Optional.ofNullable((String) values.get("tenant")).ifPresent(TENANT::set);
+        }
+
+        @Override
+        public void resetValues(final Map<String, Object> values) {
+            TENANT.remove();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.watson.demos.graphql;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingPreparsedDocumentProviderTest {
+    private static final String QUERY = "{ greetings { id } }";
+    private static final String OTHER_QUERY = "{ greetings { content } }";
+
+    private final AtomicInteger parses = new AtomicInteger();
+    private final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate = input -> {
+        parses.incrementAndGet();
+        try {
+            return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+        } catch (InvalidSyntaxException e) {
+            return new PreparsedDocumentEntry(e.toInvalidSyntaxError());
+        }
+    };
+
+    @Test
+    void getDocument_repeatedQuery_parsesOnce() {
+        final CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(10, 10);
+
+        final PreparsedDocumentEntry first = provider.getDocumentAsync(input(QUERY), parseAndValidate).join();
+        final PreparsedDocumentEntry second = provider.getDocumentAsync(input(QUERY), parseAndValidate).join();
+
+        assertThat(second).isSameAs(first);
+        assertThat(parses).hasValue(1);
+    }
+
+    @Test
+    void getDocument_invalidQuery_isNotCached() {
+        final CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(10, 10);
+
+        assertThat(provider.getDocumentAsync(input("{ greetings {"), parseAndValidate).join().hasErrors()).isTrue();
+        assertThat(provider.getDocumentAsync(input("{ greetings {"), parseAndValidate).join().hasErrors()).isTrue();
+
+        assertThat(parses).hasValue(2);
+    }
+
+    @Test
+    void getDocument_overMaxSize_evictsLeastRecentlyUsed() {
+        final CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(1, 10);
+
+        provider.getDocumentAsync(input(QUERY), parseAndValidate).join();
+        provider.getDocumentAsync(input(OTHER_QUERY), parseAndValidate).join();
+        provider.getDocumentAsync(input(QUERY), parseAndValidate).join();
+
+        assertThat(parses).hasValue(3);
+    }
+
+    @Test
+    void getDocument_unknownPersistedHash_returnsNotFound() {
+        final CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(10, 10);
+
+        final PreparsedDocumentEntry actual = provider.getDocumentAsync(persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER, sha256(QUERY)), parseAndValidate).join();
+
+        assertThat(actual.getErrors()).singleElement()
+                .satisfies(e -> assertThat(e.getMessage()).isEqualTo("PersistedQueryNotFound"));
+        assertThat(parses).hasValue(0);
+    }
+
+    @Test
+    void getDocument_registeredPersistedHash_servesHashOnlyRequests() {
+        final CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(10, 10);
+
+        final PreparsedDocumentEntry registered = provider.getDocumentAsync(persisted(QUERY, sha256(QUERY)), parseAndValidate).join();
+        final PreparsedDocumentEntry actual = provider.getDocumentAsync(persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER, sha256(QUERY)), parseAndValidate).join();
+
+        assertThat(registered.hasErrors()).isFalse();
+        assertThat(actual).isSameAs(registered);
+        assertThat(parses).hasValue(1);
+    }
+
+    @Test
+    void getDocument_mismatchedPersistedHash_isRejected() {
+        final CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(10, 10);
+
+        final PreparsedDocumentEntry actual = provider.getDocumentAsync(persisted(QUERY, sha256(OTHER_QUERY)), parseAndValidate).join();
+
+        assertThat(actual.getErrors()).singleElement()
+                .satisfies(e -> assertThat(e.getMessage()).isEqualTo("PersistedQueryIdInvalid"));
+        assertThat(parses).hasValue(0);
+    }
+
+    private static ExecutionInput input(final String query) {
+        return ExecutionInput.newExecutionInput(query).build();
+    }
+
+    private static ExecutionInput persisted(final String query, final String hash) {
+        return ExecutionInput.newExecutionInput(query)
+                .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)))
+                .build();
+    }
+
+    @SneakyThrows
+    private static String sha256(final String query) {
+        final byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+        return String.format("%064x", new BigInteger(1, digest));
+    }
+}
@@ -0,0 +1,75 @@
+package org.watson.demos.graphql;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.AbortExecutionException;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CostLimitInstrumentationTest {
+    private static final String SCHEMA = "type Query { greetings(size: Int = 20): [Greeting]! connection(first: Int = 20): Connection! byIds(ids: [ID!]!): [Greeting]! }" +
+            " type Connection { edges: [Edge!]! } type Edge { node: Greeting! }" +
+            " type Greeting { id: ID! content: String! parent: Greeting }";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "{ greetings(size: 1) { id } }|2",
+            "{ greetings(size: 10) { id content } }|30",
+            "{ greetings { id __typename } }|40",
+            "{ connection(first: 5) { edges { node { id } } } }|20",
+            "{ a: greetings(size: 1) { id } b: greetings(size: 1) { id } }|4",
+            "query Q($size: Int) { greetings(size: $size) { id } }|40",
+            "{ byIds(ids: [\"1\", \"2\", \"3\"]) { id content } }|9"
+    })
+    void execute_underBudget_recordsCost(final String query, final long expectedCost) {
+        final ExecutionResult result = graphQl(100, 10, 10).execute(query);
+
+        assertThat(result.getErrors()).noneMatch(AbortExecutionException.class::isInstance);
+        assertThat(registry.get("graphql.operation.cost").tag("operation", "query").tag("outcome", "accepted").summary().totalAmount())
+                .isEqualTo(expectedCost);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "{ greetings(size: 100) { id } }|cost",
+            "{ greetings(size: 2147483647) { parent { parent { parent { id } } } } }|cost",
+            "{ greetings(size: 1) { parent { parent { parent { id } } } } }|depth",
+            "{ a: greetings(size: 1) { id } b: greetings(size: 1) { id } c: greetings(size: 1) { id } }|alias",
+            "{ byIds(ids: [\"1\", \"2\", \"3\", \"4\", \"5\", \"6\", \"7\", \"8\", \"9\", \"10\", \"11\", \"12\", \"13\", \"14\", \"15\", \"16\", \"17\", \"18\", \"19\", \"20\", \"21\", \"22\", \"23\", \"24\", \"25\", \"26\", \"27\", \"28\", \"29\", \"30\", \"31\", \"32\", \"33\", \"34\"]) { id content } }|cost"
+    })
+    void execute_overBudget_isRejected(final String query, final String violation) {
+        final ExecutionResult result = graphQl(100, 3, 2).execute(query);
+
+        assertThat(result.getErrors()).singleElement()
+                .isInstanceOf(AbortExecutionException.class)
+                .satisfies(e -> assertThat(e.getMessage()).contains(violation));
+        assertThat(result.<Object>getData()).isNull();
+        assertThat(registry.get("graphql.operation.cost").tag("operation", "query").tag("outcome", "rejected").summary().count())
+                .isOne();
+    }
+
+    @Test
+    void execute_fragments_areCosted() {
+        final ExecutionResult result = graphQl(10, 10, 10).execute("{ greetings(size: 5) { ...fields } } fragment fields on Greeting { id content }");
+
+        assertThat(result.getErrors()).singleElement()
+                .isInstanceOf(AbortExecutionException.class)
+                .satisfies(e -> assertThat(e.getMessage()).contains("cost 15"));
+    }
+
+    private GraphQL graphQl(final long maxCost, final int maxDepth, final int maxAliases) {
+        return GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), RuntimeWiring.MOCKED_WIRING))
+                .instrumentation(new CostLimitInstrumentation(maxCost, maxDepth, maxAliases, registry))
+                .build();
+    }
+}
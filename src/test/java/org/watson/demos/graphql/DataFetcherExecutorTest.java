@@ -0,0 +1,106 @@
+package org.watson.demos.graphql;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.context.slf4j.MDCScopeDecorator;
+import brave.propagation.ThreadLocalCurrentTraceContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.cloud.sleuth.brave.bridge.BraveCurrentTraceContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataFetcherExecutorTest {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Tracing tracing = Tracing.newBuilder()
+            .currentTraceContext(ThreadLocalCurrentTraceContext.newBuilder().addScopeDecorator(MDCScopeDecorator.get()).build())
+            .build();
+    private final DataFetcherExecutor executor = new DataFetcherExecutor(registry,
+            Optional.of(new BraveCurrentTraceContext(tracing.currentTraceContext())), 1, 1);
+
+    @AfterEach
+    void afterEach() {
+        release.countDown();
+        executor.destroy();
+        tracing.close();
+        LocaleContextHolder.resetLocaleContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void supply_runsOnFetcherThread() {
+        assertThat(executor.supply(() -> Thread.currentThread().getName()).join()).startsWith("graphql-fetcher-");
+        assertThat(registry.get("executor.pool.max").tag("name", DataFetcherExecutor.NAME).gauge().value()).isOne();
+    }
+
+    @Test
+    void supply_saturated_runsOnCallingThread() {
+        final CompletableFuture<String> running = executor.supply(this::awaitRelease);
+        final CompletableFuture<String> queued = executor.supply(this::awaitRelease);
+
+        assertThat(executor.supply(() -> Thread.currentThread().getName()).join()).isEqualTo(Thread.currentThread().getName());
+
+        release.countDown();
+        assertThat(running.join()).startsWith("graphql-fetcher-");
+        assertThat(queued.join()).startsWith("graphql-fetcher-");
+    }
+
+    @Test
+    void supply_carriesLocaleAndRequestAttributes() {
+        final RequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        LocaleContextHolder.setLocale(Locale.CANADA_FRENCH);
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        assertThat(executor.supply(LocaleContextHolder::getLocale).join()).isEqualTo(Locale.CANADA_FRENCH);
+        assertThat(executor.supply(RequestContextHolder::getRequestAttributes).join()).isSameAs(attributes);
+        assertThat(executor.supply(() -> Thread.currentThread().getName()).join()).startsWith("graphql-fetcher-");
+    }
+
+    @Test
+    void supply_carriesTraceContextAndMdc() {
+        final Tracer tracer = tracing.tracer();
+        final Span span = tracer.nextSpan().start();
+        try (Tracer.SpanInScope ignored = tracer.withSpanInScope(span)) {
+            assertThat(executor.supply(() -> tracing.currentTraceContext().get().traceIdString()).join())
+                    .isEqualTo(span.context().traceIdString());
+            assertThat(executor.supply(() -> MDC.get("traceId")).join()).isEqualTo(span.context().traceIdString());
+        } finally {
+            span.finish();
+        }
+        assertThat(executor.supply(() -> tracing.currentTraceContext().get()).join()).isNull();
+    }
+
+    @Test
+    void supply_saturated_keepsCallingThreadContext() {
+        executor.supply(this::awaitRelease);
+        executor.supply(this::awaitRelease);
+        LocaleContextHolder.setLocale(Locale.GERMANY);
+
+        assertThat(executor.supply(LocaleContextHolder::getLocale).join()).isEqualTo(Locale.GERMANY);
+        assertThat(LocaleContextHolder.getLocale()).isEqualTo(Locale.GERMANY);
+    }
+
+    private String awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Thread.currentThread().getName();
+    }
+}
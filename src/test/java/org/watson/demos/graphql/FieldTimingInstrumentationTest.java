@@ -0,0 +1,81 @@
+package org.watson.demos.graphql;
+
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldTimingInstrumentationTest {
+    private static final String SCHEMA = "type Query { greetings(locale: String): [Greeting]! failing: String }" +
+            " type Greeting { id: ID! content: String! }";
+    private static final String QUERY = "{ a: greetings(locale: \"en\") { id content } b: greetings(locale: \"fr\") { id } }";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_nonTrivialFields_areTimedBySchemaCoordinate() {
+        graphQl(0).execute(QUERY);
+
+        assertThat(registry.get(FieldTimingInstrumentation.METRIC_NAME).timers())
+                .singleElement()
+                .satisfies(t -> assertThat(t.getId().getTag("field")).isEqualTo("Query.greetings"))
+                .satisfies(t -> assertThat(t.getId().getTag("trivial")).isEqualTo("false"))
+                .satisfies(t -> assertThat(t.getId().getTag("outcome")).isEqualTo("SUCCESS"))
+                .satisfies(t -> assertThat(t.count()).isEqualTo(2));
+    }
+
+    @Test
+    void execute_sampledTrivialFields_areTaggedTrivial() {
+        graphQl(1).execute(QUERY);
+
+        final Timer id = registry.get(FieldTimingInstrumentation.METRIC_NAME).tags("field", "Greeting.id", "trivial", "true").timer();
+        final Timer content = registry.get(FieldTimingInstrumentation.METRIC_NAME).tags("field", "Greeting.content", "trivial", "true").timer();
+        assertThat(id.count()).isEqualTo(4);
+        assertThat(content.count()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_failedAsyncField_isTimedAsError() {
+        graphQl(0).execute("{ failing }");
+
+        assertThat(registry.get(FieldTimingInstrumentation.METRIC_NAME).tags("field", "Query.failing", "outcome", "ERROR").timer().count())
+                .isOne();
+    }
+
+    @Test
+    void execute_percentileHistogramOnlyWhenEnabled() {
+        final MeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        graphQl(prometheus, 0, true).execute("{ greetings { id } }");
+        graphQl(prometheus, 0, false).execute("{ failing }");
+
+        assertThat(prometheus.get(FieldTimingInstrumentation.METRIC_NAME).tag("field", "Query.greetings").timer().takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(prometheus.get(FieldTimingInstrumentation.METRIC_NAME).tag("field", "Query.failing").timer().takeSnapshot().histogramCounts()).isEmpty();
+    }
+
+    private GraphQL graphQl(final double trivialSampleRate) {
+        return graphQl(registry, trivialSampleRate, false);
+    }
+
+    private static GraphQL graphQl(final MeterRegistry registry, final double trivialSampleRate, final boolean percentileHistogram) {
+        final RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", type -> type
+                        .dataFetcher("greetings", env -> List.of(Map.of("id", "1", "content", "hello"), Map.of("id", "2", "content", "bonjour")))
+                        .dataFetcher("failing", env -> CompletableFuture.failedFuture(new IllegalStateException("failed"))))
+                .build();
+        return GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring))
+                .instrumentation(new FieldTimingInstrumentation(registry, trivialSampleRate, percentileHistogram, 0.5, 0.99))
+                .build();
+    }
+}
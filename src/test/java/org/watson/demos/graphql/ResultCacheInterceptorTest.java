@@ -0,0 +1,138 @@
+package org.watson.demos.graphql;
+
+import graphql.ExecutionResultImpl;
+import graphql.GraphqlErrorBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.watson.demos.events.GreetingEvent;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultCacheInterceptorTest {
+    private static final String QUERY = "query { greetings(locale: \"en\") { id } }";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ResultCacheInterceptor interceptor = new ResultCacheInterceptor(10, 10, registry);
+    private final AtomicInteger executions = new AtomicInteger();
+    private final WebGraphQlInterceptor.Chain chain = request -> Mono.fromCallable(() -> response(request, Map.of("execution", executions.incrementAndGet())));
+
+    @Test
+    void intercept_repeatedQuery_executesOnce() {
+        final WebGraphQlResponse first = execute(QUERY, null, Map.of());
+        final WebGraphQlResponse second = execute("query {\n  greetings(locale: \"en\") {\n    id\n  }\n}", null, Map.of());
+
+        assertThat(second.<Object>getData()).isEqualTo(first.getData());
+        assertThat(executions).hasValue(1);
+        assertThat(registry.get("graphql.result.cache").tag("result", "hit").counter().count()).isOne();
+        assertThat(registry.get("graphql.result.cache").tag("result", "miss").counter().count()).isOne();
+    }
+
+    @Test
+    void intercept_differentVariables_areCachedSeparately() {
+        final String query = "query Q($locale: String) { greetings(locale: $locale) { id } }";
+
+        execute(query, "Q", Map.of("locale", "en"));
+        execute(query, "Q", Map.of("locale", "fr"));
+        execute(query, "Q", Map.of("locale", "en"));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @ValueSource(strings = {
+            "mutation { deleteGreetings(ids: []) }",
+            "subscription { greetingsDeleted }",
+            "query A { greetings { id } } query B { greetings { id } }",
+            "PersistedQueryMarker"
+    })
+    @ParameterizedTest
+    void intercept_notCacheable_alwaysExecutes(final String document) {
+        execute(document, null, Map.of());
+        execute(document, null, Map.of());
+
+        assertThat(executions).hasValue(2);
+        assertThat(interceptor.size()).isZero();
+    }
+
+    @Test
+    void intercept_namedQueryInMixedDocument_isCached() {
+        final String document = "query A { greetings { id } } mutation B { deleteGreetings(ids: []) }";
+
+        execute(document, "A", Map.of());
+        execute(document, "A", Map.of());
+        execute(document, "B", Map.of());
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void intercept_resultWithErrors_isNotCached() {
+        final WebGraphQlInterceptor.Chain failing = request -> Mono.fromCallable(() -> {
+            executions.incrementAndGet();
+            return new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(request.toExecutionInput(), ExecutionResultImpl.newExecutionResult()
+                    .data(Map.of())
+                    .addError(GraphqlErrorBuilder.newError().message("failed").build())
+                    .build()));
+        });
+
+        interceptor.intercept(request(QUERY, null, Map.of()), failing).block();
+        interceptor.intercept(request(QUERY, null, Map.of()), failing).block();
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void onEvent_clearsCache() {
+        execute(QUERY, null, Map.of());
+        interceptor.onEvent(GreetingEvent.deleted(List.of(UUID.randomUUID())));
+        execute(QUERY, null, Map.of());
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void onEvent_duringExecution_discardsResult() {
+        final WebGraphQlInterceptor.Chain invalidating = request -> Mono.fromCallable(() -> {
+            interceptor.onEvent(GreetingEvent.created(List.of()));
+            return response(request, Map.of("execution", executions.incrementAndGet()));
+        });
+
+        interceptor.intercept(request(QUERY, null, Map.of()), invalidating).block();
+
+        assertThat(interceptor.size()).isZero();
+    }
+
+    private WebGraphQlResponse execute(final String document, final String operationName, final Map<String, Object> variables) {
+        return interceptor.intercept(request(document, operationName, variables), chain).block();
+    }
+
+    private static WebGraphQlRequest request(final String document, final String operationName, final Map<String, Object> variables) {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("query", document);
+        body.put("operationName", operationName);
+        body.put("variables", variables);
+        return new WebGraphQlRequest(URI.create("http://localhost/graphql"), new HttpHeaders(), body, UUID.randomUUID().toString(), Locale.US);
+    }
+
+    private static WebGraphQlResponse response(final WebGraphQlRequest request, final Object data) {
+        return new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(request.toExecutionInput(), ExecutionResultImpl.newExecutionResult()
+                .data(data)
+                .build()));
+    }
+}
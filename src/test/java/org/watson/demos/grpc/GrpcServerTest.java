@@ -0,0 +1,124 @@
+package org.watson.demos.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.watson.demos.controllers.GreetingGrpcController;
+import org.watson.demos.grpc.v1.GetGreetingRequest;
+import org.watson.demos.grpc.v1.Greeting;
+import org.watson.demos.grpc.v1.GreetingsGrpc;
+import org.watson.demos.models.Greeting.GreetingBuilder;
+import org.watson.demos.services.GreetingService;
+
+import javax.validation.Validation;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GrpcServerTest {
+    private static final ZonedDateTime NOW = ZonedDateTime.now(ZoneOffset.UTC);
+
+    private final GreetingService service = mock(GreetingService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicReference<String> thread = new AtomicReference<>();
+    private GrpcServer server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void beforeEach() {
+        final String name = InProcessServerBuilder.generateName();
+        final GreetingGrpcController controller = new GreetingGrpcController(service,
+                Validation.buildDefaultValidatorFactory().getValidator(), 2000, 10);
+        server = new GrpcServer(InProcessServerBuilder.forName(name), List.of(controller), registry, 1, 0, Duration.ofSeconds(1));
+        server.start();
+        channel = InProcessChannelBuilder.forName(name).build();
+        when(service.getOne(any())).thenAnswer(a -> {
+            thread.set(Thread.currentThread().getName());
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(greeting().id(a.getArgument(0)).build());
+        });
+    }
+
+    @AfterEach
+    void afterEach() throws InterruptedException {
+        release.countDown();
+        channel.shutdownNow().awaitTermination(1, TimeUnit.SECONDS);
+        server.stop();
+    }
+
+    @Test
+    void call_runsOnPool() {
+        release.countDown();
+
+        GreetingsGrpc.newBlockingStub(channel).getGreeting(request());
+
+        assertThat(thread.get()).startsWith("grpc-").isNotEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void call_saturatedPool_isResourceExhausted() throws Exception {
+        final Future<Greeting> admitted = GreetingsGrpc.newFutureStub(channel).getGreeting(request());
+        verify(service, timeout(5000)).getOne(any());
+
+        assertThatThrownBy(() -> GreetingsGrpc.newBlockingStub(channel).getGreeting(request()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED));
+        assertThat(registry.counter(CallAdmissionInterceptor.REJECTED_METRIC).count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(admitted.get(5, TimeUnit.SECONDS).getContent()).isEqualTo("grpc");
+    }
+
+    @Test
+    void call_afterSaturatedCallCompletes_isAdmitted() throws Exception {
+        release.countDown();
+        GreetingsGrpc.newFutureStub(channel).getGreeting(request()).get(5, TimeUnit.SECONDS);
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Greeting actual = null;
+        while (actual == null && System.nanoTime() < deadline) {
+            try {
+                actual = GreetingsGrpc.newBlockingStub(channel).getGreeting(request());
+            } catch (StatusRuntimeException e) {
+                assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+                Thread.onSpinWait();
+            }
+        }
+
+        assertThat(actual).isNotNull();
+    }
+
+    private static GetGreetingRequest request() {
+        return GetGreetingRequest.newBuilder().setId(UUID.randomUUID().toString()).build();
+    }
+
+    private static GreetingBuilder greeting() {
+        return org.watson.demos.models.Greeting.builder()
+                .content("grpc")
+                .locale(Locale.CANADA)
+                .created(NOW)
+                .modified(NOW);
+    }
+}
@@ -0,0 +1,69 @@
+package org.watson.demos.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.watson.demos.configurations.JpaAuditingConfiguration;
+import org.watson.demos.models.GreetingChange;
+
+import javax.annotation.Resource;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(JpaAuditingConfiguration.class)
+class GreetingChangeRepositoryTest {
+
+    @Resource
+    private GreetingChangeRepository repository;
+
+    @Test
+    void save_keepsTokenAndSetsChangedDate() {
+        final GreetingChange saved = repository.save(GreetingChange.of(7, GreetingChange.Type.CREATED, UUID.randomUUID()));
+
+        assertThat(saved.getToken()).isEqualTo(7);
+        assertThat(saved.getChanged()).isBetween(Instant.now().minusSeconds(5), Instant.now());
+    }
+
+    @Test
+    void findAllByTokenGreaterThan_returnsChangesAfterTokenInOrder() {
+        final List<GreetingChange> saved = saveAll(5);
+        final long since = saved.get(1).getToken();
+
+        final List<GreetingChange> actual = repository.findAllByTokenGreaterThanOrderByTokenAsc(since, PageRequest.ofSize(10));
+
+        assertThat(actual).isEqualTo(saved.subList(2, saved.size()));
+    }
+
+    @Test
+    void findAllByTokenGreaterThan_limitsToSize() {
+        final List<GreetingChange> saved = saveAll(5);
+
+        final List<GreetingChange> actual = repository.findAllByTokenGreaterThanOrderByTokenAsc(0, PageRequest.ofSize(2));
+
+        assertThat(actual).isEqualTo(saved.subList(0, 2));
+    }
+
+    @Test
+    void findAllByTokenGreaterThan_latestToken_returnsEmpty() {
+        final List<GreetingChange> saved = saveAll(3);
+
+        assertThat(repository.findAllByTokenGreaterThanOrderByTokenAsc(saved.get(saved.size() - 1).getToken(), PageRequest.ofSize(10)))
+                .isEmpty();
+    }
+
+    private List<GreetingChange> saveAll(final int count) {
+        final List<GreetingChange> changes = IntStream.range(0, count).boxed()
+                .map(i -> GreetingChange.of(i + 1, i % 2 == 0 ? GreetingChange.Type.CREATED : GreetingChange.Type.DELETED, UUID.randomUUID()))
+                .collect(Collectors.toUnmodifiableList());
+        return StreamSupport.stream(repository.saveAll(changes).spliterator(), false)
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
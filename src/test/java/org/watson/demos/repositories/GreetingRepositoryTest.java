@@ -6,16 +6,20 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.watson.demos.configurations.JpaAuditingConfiguration;
 import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingCursor;
 
 import javax.annotation.Resource;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -105,6 +109,79 @@ class GreetingRepositoryTest {
         assertThat(actual).noneMatch(n -> n.getId().equals(savedEntries.get(0).getId()));
     }
 
+    @Test
+    void findAllProjected_selectsOnlyRequestedAttributes() {
+        final List<Greeting> expected = saveAll(
+                Greeting.builder().content("projected").locale(Locale.getDefault()).build(),
+                Greeting.builder().content("projection").locale(Locale.getDefault()).build());
+
+        final Page<Greeting> actual = repository.findAllProjected(Set.of("id", "content", "unknown"), null, PageRequest.of(0, 10, Sort.by("content")));
+
+        assertThat(actual.getTotalElements()).isEqualTo(expected.size());
+        assertThat(actual.getContent()).hasSize(expected.size()).allSatisfy(a -> assertThat(a).satisfies(
+                g -> assertThat(g.getId()).isNotNull(),
+                g -> assertThat(g.getContent()).isNotNull(),
+                g -> assertThat(g.getLocale()).isNull(),
+                g -> assertThat(g.getCreated()).isNull(),
+                g -> assertThat(g.getModified()).isNull()));
+        assertThat(actual.getContent()).extracting(Greeting::getContent).containsExactly("projected", "projection");
+    }
+
+    @Test
+    void findAllProjected_filtersByLocaleAndPages() {
+        final List<Greeting> expected = saveAll(
+                Greeting.builder().content("hello").locale(Locale.getDefault()).build(),
+                Greeting.builder().content("there").locale(Locale.getDefault()).build(),
+                Greeting.builder().content("friend").locale(Locale.getDefault()).build());
+        repository.save(Greeting.builder().content("stuff").locale(Locale.CANADA_FRENCH).build());
+
+        for (int i = 0; i < expected.size(); i++) {
+            final Greeting expectedEntry = expected.get(i);
+            final Page<Greeting> actual = repository.findAllProjected(Set.of("id", "locale", "created", "modified"), Locale.getDefault(), PageRequest.of(i, 1));
+
+            assertThat(actual.getNumberOfElements()).isEqualTo(1);
+            assertThat(actual.getTotalElements()).isEqualTo(expected.size());
+            assertThat(actual.getContent().get(0)).satisfies(
+                    a -> assertThat(a.getId()).isEqualTo(expectedEntry.getId()),
+                    a -> assertThat(a.getLocale()).isEqualTo(Locale.getDefault()),
+                    a -> assertThat(a.getContent()).isNull());
+        }
+    }
+
+    @Test
+    void findAllAfter_seeksInCreatedAndIdOrder() {
+        final List<Greeting> saved = saveAll(
+                Greeting.builder().content("first").locale(Locale.getDefault()).build(),
+                Greeting.builder().content("second").locale(Locale.getDefault()).build(),
+                Greeting.builder().content("third").locale(Locale.getDefault()).build(),
+                Greeting.builder().content("fourth").locale(Locale.CANADA_FRENCH).build());
+        final List<Greeting> expected = saved.stream()
+                .filter(g -> Locale.getDefault().equals(g.getLocale()))
+                .collect(Collectors.toUnmodifiableList());
+
+        final List<Greeting> actual = new ArrayList<>();
+        GreetingCursor cursor = null;
+        for (List<Greeting> page = repository.findAllAfter(null, Locale.getDefault(), 1); !page.isEmpty(); page = repository.findAllAfter(cursor, Locale.getDefault(), 1)) {
+            assertThat(page).hasSize(1);
+            actual.addAll(page);
+            cursor = GreetingCursor.of(page.get(0));
+        }
+
+        assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(repository.findAllAfter(null, Locale.getDefault(), 10)).containsExactlyElementsOf(actual);
+    }
+
+    @Test
+    void countByLocale_countsEntries() {
+        saveAll(
+                Greeting.builder().content("hello").locale(Locale.getDefault()).build(),
+                Greeting.builder().content("there").locale(Locale.getDefault()).build());
+        repository.save(Greeting.builder().content("stuff").locale(Locale.CANADA_FRENCH).build());
+
+        assertThat(repository.countByLocale(Locale.getDefault())).isEqualTo(2);
+        assertThat(repository.countByLocale(Locale.CANADA_FRENCH)).isEqualTo(1);
+    }
+
     private List<Greeting> saveAll(final Greeting... entries) {
         return StreamSupport
                 .stream(repository.saveAll(Arrays.asList(entries)).spliterator(), false)
@@ -0,0 +1,56 @@
+package org.watson.demos.serializers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditTimestampSerializerTest {
+    private static final long MIN_SECOND = Instant.parse("0001-01-01T00:00:00Z").getEpochSecond();
+    private static final long MAX_SECOND = Instant.parse("9999-12-31T23:59:59Z").getEpochSecond();
+
+    private final ObjectMapper objectMapper = mapper(new AuditTimestampSerializer());
+    private final ObjectMapper epochMillisMapper = mapper(new AuditTimestampSerializer(true));
+
+    @RepeatedTest(1000)
+    void serialize_matchesFormatter() throws IOException {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final ZonedDateTime expected = Instant.ofEpochSecond(random.nextLong(MIN_SECOND, MAX_SECOND + 1), random.nextInt(1_000_000_000))
+                .atZone(ZoneId.of("America/Denver"));
+
+        assertThat(objectMapper.writeValueAsString(expected))
+                .isEqualTo('"' + AuditTimestampSerializer.FORMATTER.format(expected) + '"');
+    }
+
+    @ValueSource(strings = {"0001-01-01T00:00:00Z", "0000-12-31T23:59:59.999Z", "1969-12-31T23:59:59.999Z", "1970-01-01T00:00:00Z",
+            "2000-02-29T12:34:56.789Z", "2100-03-01T00:00:00.001Z", "9999-12-31T23:59:59.999Z", "+10000-01-01T00:00:00Z", "-0001-06-15T00:00:00Z"})
+    @ParameterizedTest
+    void serialize_boundaries_matchFormatter(final String instant) throws IOException {
+        final ZonedDateTime expected = Instant.parse(instant).atZone(ZoneId.of("UTC"));
+
+        assertThat(objectMapper.writeValueAsString(expected))
+                .isEqualTo('"' + AuditTimestampSerializer.FORMATTER.format(expected) + '"');
+    }
+
+    @ValueSource(strings = {"1969-12-31T23:59:59.999Z", "1970-01-01T00:00:00Z", "2000-02-29T12:34:56.789999Z"})
+    @ParameterizedTest
+    void serialize_epochMillis_writesNumber(final String instant) throws IOException {
+        final Instant expected = Instant.parse(instant);
+
+        assertThat(epochMillisMapper.writeValueAsString(expected.atZone(ZoneId.of("Asia/Tokyo"))))
+                .isEqualTo(String.valueOf(expected.toEpochMilli()));
+    }
+
+    private static ObjectMapper mapper(final AuditTimestampSerializer serializer) {
+        return new ObjectMapper().registerModule(new SimpleModule().addSerializer(ZonedDateTime.class, serializer));
+    }
+}
@@ -0,0 +1,131 @@
+package org.watson.demos.serializers;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.watson.demos.models.Greeting;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput and allocation per page of {@link Greeting}s written with this package's serializers, against Jackson's
+ * stock {@code UUIDSerializer}, {@code ToStringSerializer} and pattern {@code ZonedDateTimeSerializer}, and with
+ * epoch milliseconds timestamps. Run with {@code main}, which adds the {@link GCProfiler} for {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GreetingSerializationBenchmark {
+    private static final int PAGE_SIZE = 200;
+
+    private final ObjectWriter stock = Jackson2ObjectMapperBuilder.json()
+            .mixIn(Greeting.class.getSuperclass(), StockTimestamps.class)
+            .build()
+            .writerFor(List.class);
+    private final ObjectWriter serializers = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(serializersModule())
+            .build()
+            .writerFor(List.class);
+    private final ObjectWriter epochMillis = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(serializersModule())
+            .mixIn(Greeting.class.getSuperclass(), EpochMillisTimestamps.class)
+            .build()
+            .writerFor(List.class);
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 20);
+    private List<Greeting> greetings;
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GreetingSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setup() {
+        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        greetings = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> Greeting.builder()
+                        .id(UUID.randomUUID())
+                        .content("benchmark " + i)
+                        .locale(Locale.CANADA_FRENCH)
+                        .created(now.plusSeconds(i))
+                        .modified(now.plusSeconds(i))
+                        .build())
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Benchmark
+    public int stock() throws IOException {
+        return write(stock);
+    }
+
+    @Benchmark
+    public int serializers() throws IOException {
+        return write(serializers);
+    }
+
+    @Benchmark
+    public int epochMillis() throws IOException {
+        return write(epochMillis);
+    }
+
+    private int write(final ObjectWriter writer) throws IOException {
+        body.reset();
+        writer.writeValue(body, greetings);
+        return body.size();
+    }
+
+    private static SimpleModule serializersModule() {
+        return new SimpleModule()
+                .addSerializer(UUID.class, new UuidSerializer())
+                .addSerializer(Locale.class, new LocaleSerializer());
+    }
+
+    /** Drops the {@link AuditTimestampSerializer}, leaving {@code @JsonFormat} to Jackson's own serializer. */
+    private abstract static class StockTimestamps {
+        @JsonSerialize(using = JsonSerializer.None.class)
+        ZonedDateTime created, modified;
+    }
+
+    private abstract static class EpochMillisTimestamps {
+        @JsonSerialize(using = EpochMillisSerializer.class)
+        ZonedDateTime created, modified;
+    }
+
+    public static class EpochMillisSerializer extends AuditTimestampSerializer {
+        public EpochMillisSerializer() {
+            super(true);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.watson.demos.serializers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocaleSerializerTest {
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new SimpleModule().addSerializer(Locale.class, new LocaleSerializer()));
+
+    @Test
+    void serialize_matchesDefaultSerializer() throws IOException {
+        // Twice, so both the uncached and the cached writes are compared.
+        for (int i = 0; i < 2; i++) {
+            for (final Locale expected : Locale.getAvailableLocales()) {
+                assertThat(objectMapper.writeValueAsString(expected)).isEqualTo(defaultMapper.writeValueAsString(expected));
+            }
+        }
+    }
+
+    @Test
+    void serialize_beyondCacheSize_matchesDefaultSerializer() throws IOException {
+        for (int i = 0; i < LocaleSerializer.MAX_CACHED * 2; i++) {
+            final Locale expected = new Locale("x", "", "v" + i);
+            assertThat(objectMapper.writeValueAsString(expected)).isEqualTo(defaultMapper.writeValueAsString(expected));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.watson.demos.serializers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidSerializerTest {
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new SimpleModule().addSerializer(UUID.class, new UuidSerializer()));
+
+    @RepeatedTest(100)
+    void serialize_matchesDefaultSerializer() throws IOException {
+        final UUID expected = UUID.randomUUID();
+
+        assertThat(objectMapper.writeValueAsString(expected))
+                .isEqualTo(defaultMapper.writeValueAsString(expected))
+                .isEqualTo('"' + expected.toString() + '"');
+    }
+
+    @Test
+    void serialize_extremeBits() throws IOException {
+        for (final UUID expected : new UUID[]{new UUID(0, 0), new UUID(-1, -1), new UUID(Long.MIN_VALUE, Long.MAX_VALUE)}) {
+            assertThat(objectMapper.writeValueAsString(expected)).isEqualTo(defaultMapper.writeValueAsString(expected));
+        }
+    }
+
+    @Test
+    void serialize_binaryGenerator_writesBytes() throws IOException {
+        final UUID expected = UUID.randomUUID();
+        final ObjectMapper cborMapper = new CBORMapper()
+                .registerModule(new SimpleModule().addSerializer(UUID.class, new UuidSerializer()));
+
+        final byte[] actual = cborMapper.writeValueAsBytes(expected);
+
+        assertThat(actual).isEqualTo(new CBORMapper().writeValueAsBytes(expected));
+        assertThat(cborMapper.readValue(actual, UUID.class)).isEqualTo(expected);
+    }
+
+    @Test
+    void serialize_tokenBuffer_writesCanonicalString() throws IOException {
+        final UUID expected = UUID.randomUUID();
+        final TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+
+        objectMapper.writeValue(buffer, expected);
+
+        assertThat(buffer.asParser().nextTextValue()).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void valueToTree_matchesDefaultSerializer() throws IOException {
+        final Map<String, UUID> expected = Map.of("id", UUID.randomUUID());
+
+        final JsonNode actual = objectMapper.valueToTree(expected);
+
+        assertThat(actual).isEqualTo(defaultMapper.valueToTree(expected));
+        assertThat(actual.get("id").isTextual()).isTrue();
+        assertThat(objectMapper.treeToValue(actual.get("id"), UUID.class)).isEqualTo(expected.get("id"));
+    }
+
+    @Test
+    void convertValue_roundTrips() {
+        final Map<String, UUID> expected = Map.of("id", UUID.randomUUID());
+
+        final Map<?, ?> actual = objectMapper.convertValue(expected, Map.class);
+
+        assertThat(actual).isEqualTo(defaultMapper.convertValue(expected, Map.class));
+        assertThat(actual.get("id")).isEqualTo(expected.get("id").toString());
+        assertThat(objectMapper.convertValue(actual, new TypeReference<Map<String, UUID>>() {
+        })).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,117 @@
+package org.watson.demos.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.watson.demos.configurations.JpaAuditingConfiguration;
+import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingChange;
+import org.watson.demos.repositories.ChangeTokenCounterRepository;
+import org.watson.demos.repositories.GreetingChangeRepository;
+import org.watson.demos.repositories.GreetingRepository;
+
+import javax.annotation.Resource;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Writes change-log entries concurrently against the database, to check tokens commit in order and readers never skip one.
+ */
+@DataJpaTest
+@Import({GreetingService.class, ChangeTokenAllocator.class, JpaAuditingConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GreetingServiceChangeFeedTest {
+
+    @Resource
+    private GreetingService service;
+    @Resource
+    private GreetingRepository repository;
+    @Resource
+    private GreetingChangeRepository changeRepository;
+    @Resource
+    private ChangeTokenCounterRepository counterRepository;
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void afterEach() {
+        counterRepository.deleteAll();
+        changeRepository.deleteAll();
+        repository.deleteAll();
+    }
+
+    @Test
+    void createAll_whileEarlierWriterInFlight_waitsForItsTokensToCommit() throws Exception {
+        final CountDownLatch earlierSaved = new CountDownLatch(1);
+        final CountDownLatch commitEarlier = new CountDownLatch(1);
+        final CompletableFuture<Void> earlier = CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            service.createAll(List.of(greeting("earlier")));
+            earlierSaved.countDown();
+            await(commitEarlier);
+        }));
+        assertThat(earlierSaved.await(10, TimeUnit.SECONDS)).isTrue();
+
+        final CompletableFuture<Void> later = CompletableFuture.runAsync(() -> service.createAll(List.of(greeting("later"))));
+
+        assertThatThrownBy(() -> later.get(300, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        assertThat(service.getChanges(0, 10)).isEmpty();
+
+        commitEarlier.countDown();
+        earlier.get(10, TimeUnit.SECONDS);
+        later.get(10, TimeUnit.SECONDS);
+
+        final List<GreetingChange> actual = service.getChanges(0, 10);
+        assertThat(actual).hasSize(2);
+        assertThat(actual.get(0).getToken()).isLessThan(actual.get(1).getToken());
+        assertThat(actual.stream().map(c -> repository.findById(c.getGreetingId()).orElseThrow().getContent()).collect(Collectors.toList()))
+                .containsExactly("earlier", "later");
+    }
+
+    @Test
+    void createAll_existingChangesWithoutCounter_continuesAfterLatestToken() {
+        changeRepository.save(GreetingChange.of(40, GreetingChange.Type.DELETED, UUID.randomUUID()));
+
+        service.createAll(List.of(greeting("first"), greeting("second")));
+
+        assertThat(service.getChanges(40, 10)).extracting(GreetingChange::getToken).containsExactly(41L, 42L);
+    }
+
+    @Test
+    void getChanges_rolledBackWriter_releasesItsTokens() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            service.createAll(List.of(greeting("rolled back")));
+            status.setRollbackOnly();
+        });
+
+        service.createAll(List.of(greeting("committed")));
+
+        assertThat(service.getChanges(0, 10)).singleElement().extracting(GreetingChange::getToken).isEqualTo(1L);
+    }
+
+    private static Greeting greeting(final String content) {
+        return Greeting.builder().content(content).locale(Locale.CANADA).build();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -6,13 +6,24 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.watson.demos.events.GreetingEvent;
 import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingChange;
+import org.watson.demos.models.GreetingConnection;
+import org.watson.demos.models.GreetingCursor;
 import org.watson.demos.models.GreetingProbe;
+import org.watson.demos.repositories.GreetingChangeRepository;
 import org.watson.demos.repositories.GreetingRepository;
 
 import javax.annotation.Resource;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -23,20 +34,33 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.watson.demos.utilities.GeneratorTestUtility.generateGreetings;
 
+@RecordApplicationEvents
 @SpringBootTest(classes = GreetingService.class)
 class GreetingServiceTest {
     private static final List<Greeting> TEST_CONTENT = generateGreetings("service-content");
+    private static final List<Greeting> CONNECTION_CONTENT = IntStream.range(0, 4).boxed()
+            .map(i -> Greeting.builder().id(UUID.randomUUID()).content("connection " + i).created(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(i)).build())
+            .collect(Collectors.toUnmodifiableList());
 
     @MockBean
     private GreetingRepository repository;
+    @MockBean
+    private GreetingChangeRepository changeRepository;
+    @MockBean
+    private ChangeTokenAllocator tokens;
 
     @Resource
     private GreetingService service;
+    @Resource
+    private ApplicationEvents events;
 
     @Test
     void getOne_passesThroughToRepository() {
@@ -49,6 +73,72 @@ class GreetingServiceTest {
         verify(repository).findById(id);
     }
 
+    @Test
+    void getAll_attributes_passesThroughToProjection() {
+        final Page<Greeting> expected = new PageImpl<>(TEST_CONTENT);
+        final Set<String> attributes = Set.of("id", "content");
+        when(repository.findAllProjected(any(), any(), any())).thenReturn(expected);
+
+        assertThat(service.getAll(GreetingProbe.builder().locale(Locale.CHINA).build(), Pageable.ofSize(3), attributes)).isSameAs(expected);
+
+        verify(repository).findAllProjected(attributes, Locale.CHINA, Pageable.ofSize(3));
+    }
+
+    @Test
+    void getConnection_firstPage_readsOneExtraForNextPage() {
+        when(repository.findAllAfter(any(), any(), anyInt())).thenReturn(CONNECTION_CONTENT);
+
+        final GreetingConnection actual = service.getConnection(GreetingProbe.builder().locale(Locale.ITALY).build(), CONNECTION_CONTENT.size() - 1, null);
+
+        assertThat(actual.getEdges()).extracting(GreetingConnection.Edge::getNode).containsExactlyElementsOf(CONNECTION_CONTENT.subList(0, CONNECTION_CONTENT.size() - 1));
+        assertThat(actual.getPageInfo()).satisfies(
+                p -> assertThat(p.isHasNextPage()).isTrue(),
+                p -> assertThat(p.isHasPreviousPage()).isFalse(),
+                p -> assertThat(p.getStartCursor()).isEqualTo(GreetingCursor.of(CONNECTION_CONTENT.get(0)).encode()),
+                p -> assertThat(p.getEndCursor()).isEqualTo(GreetingCursor.of(CONNECTION_CONTENT.get(CONNECTION_CONTENT.size() - 2)).encode()));
+
+        verify(repository).findAllAfter(null, Locale.ITALY, CONNECTION_CONTENT.size());
+    }
+
+    @Test
+    void getConnection_after_decodesCursor() {
+        final GreetingCursor cursor = GreetingCursor.of(CONNECTION_CONTENT.get(0));
+        when(repository.findAllAfter(any(), any(), anyInt())).thenReturn(CONNECTION_CONTENT.subList(1, 3));
+
+        final GreetingConnection actual = service.getConnection(GreetingProbe.builder().build(), 5, cursor.encode());
+
+        assertThat(actual.getEdges()).hasSize(2);
+        assertThat(actual.getPageInfo().isHasNextPage()).isFalse();
+        assertThat(actual.getPageInfo().isHasPreviousPage()).isTrue();
+
+        verify(repository).findAllAfter(cursor, null, 6);
+    }
+
+    @Test
+    void getConnection_invalidCursor_throws() {
+        assertThatThrownBy(() -> service.getConnection(GreetingProbe.builder().build(), 5, "not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void count_byLocale_passesThroughToRepository() {
+        when(repository.countByLocale(any())).thenReturn(7L);
+        when(repository.count()).thenReturn(11L);
+
+        assertThat(service.count(GreetingProbe.builder().locale(Locale.ITALY).build())).isEqualTo(7);
+        assertThat(service.count(GreetingProbe.builder().build())).isEqualTo(11);
+    }
+
+    @Test
+    void getAllById_passesThroughToRepository() {
+        final Set<UUID> ids = Set.of(UUID.randomUUID(), UUID.randomUUID());
+        when(repository.findAllById(any())).thenReturn(TEST_CONTENT);
+
+        assertThat(service.getAllById(ids)).containsExactlyElementsOf(TEST_CONTENT);
+
+        verify(repository).findAllById(ids);
+    }
+
     @Test
     void create_passesThroughToRepository() {
         when(repository.saveAll(any())).thenReturn(TEST_CONTENT);
@@ -60,6 +150,43 @@ class GreetingServiceTest {
         verify(repository).saveAll(input);
     }
 
+    @Test
+    void create_recordsCreatedChanges() {
+        final List<Greeting> expected = TEST_CONTENT.stream()
+                .map(g -> g.toBuilder().id(UUID.randomUUID()).build())
+                .collect(Collectors.toUnmodifiableList());
+        when(repository.saveAll(any())).thenReturn(expected);
+        when(tokens.allocate(anyInt())).thenReturn(7L);
+
+        service.createAll(generateGreetings("create-service-content"));
+
+        verify(tokens).allocate(expected.size());
+        verify(changeRepository).saveAll(IntStream.range(0, expected.size()).boxed()
+                .map(i -> GreetingChange.of(7L + i, GreetingChange.Type.CREATED, expected.get(i).getId()))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void create_publishesCreatedEvent() {
+        when(repository.saveAll(any())).thenReturn(TEST_CONTENT);
+
+        service.createAll(generateGreetings("create-service-content"));
+
+        assertThat(events.stream(GreetingEvent.class)).singleElement().satisfies(
+                e -> assertThat(e.getType()).isEqualTo(GreetingChange.Type.CREATED),
+                e -> assertThat(e.getGreetings()).containsExactlyElementsOf(TEST_CONTENT));
+    }
+
+    @Test
+    void getChanges_passesThroughToRepository() {
+        final List<GreetingChange> expected = List.of(GreetingChange.of(14, GreetingChange.Type.CREATED, UUID.randomUUID()));
+        when(changeRepository.findAllByTokenGreaterThanOrderByTokenAsc(anyLong(), any())).thenReturn(expected);
+
+        assertThat(service.getChanges(13, 5)).isSameAs(expected);
+
+        verify(changeRepository).findAllByTokenGreaterThanOrderByTokenAsc(13, PageRequest.ofSize(5));
+    }
+
     @MethodSource
     @ParameterizedTest
     void getAll_passesThroughToRepository(final GreetingProbe probe, final Pageable pageable) {
@@ -95,4 +222,32 @@ class GreetingServiceTest {
 
         verify(repository).deleteAllById(input);
     }
+
+    @Test
+    void delete_recordsDeletedChanges() {
+        final List<UUID> input = IntStream.range(0, 3).boxed()
+                .map(i -> UUID.randomUUID())
+                .collect(Collectors.toUnmodifiableList());
+
+        when(tokens.allocate(anyInt())).thenReturn(3L);
+
+        service.deleteAll(input);
+
+        verify(changeRepository).saveAll(IntStream.range(0, input.size()).boxed()
+                .map(i -> GreetingChange.of(3L + i, GreetingChange.Type.DELETED, input.get(i)))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void delete_publishesDeletedEvent() {
+        final List<UUID> input = IntStream.range(0, 3).boxed()
+                .map(i -> UUID.randomUUID())
+                .collect(Collectors.toUnmodifiableList());
+
+        service.deleteAll(input);
+
+        assertThat(events.stream(GreetingEvent.class)).singleElement().satisfies(
+                e -> assertThat(e.getType()).isEqualTo(GreetingChange.Type.DELETED),
+                e -> assertThat(e.getIds()).containsExactlyElementsOf(input));
+    }
 }
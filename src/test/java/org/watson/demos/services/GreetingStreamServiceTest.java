@@ -0,0 +1,121 @@
+package org.watson.demos.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.watson.demos.events.GreetingEvent;
+import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingProbe;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GreetingStreamServiceTest {
+    private static final Greeting CANADIAN = Greeting.builder().id(UUID.randomUUID()).content("eh").locale(Locale.CANADA).build();
+    private static final Greeting AMERICAN = Greeting.builder().id(UUID.randomUUID()).content("hey").locale(Locale.US).build();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private GreetingStreamService service;
+
+    @BeforeEach
+    void beforeEach() {
+        // Drains wait for the latch, so every offer after the first stays buffered until it is released.
+        final TaskExecutorBuilder builder = new TaskExecutorBuilder().taskDecorator(r -> () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            r.run();
+        });
+        service = new GreetingStreamService(builder, registry, 1, Duration.ofMinutes(1), 1, Duration.ofSeconds(15));
+    }
+
+    @AfterEach
+    void afterEach() {
+        release.countDown();
+        service.destroy();
+    }
+
+    @Test
+    void configureTasks_schedulesHeartbeatAtBoundDuration() {
+        final ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+        service.configureTasks(registrar);
+
+        assertThat(registrar.getFixedRateTaskList()).singleElement()
+                .satisfies(t -> assertThat(t.getInterval()).isEqualTo(Duration.ofSeconds(15).toMillis()));
+    }
+
+    @Test
+    void subscribe_addsSubscriber() {
+        assertThat(service.subscribe(GreetingProbe.builder().build())).isNotNull();
+        assertThat(service.subscribe(GreetingProbe.builder().locale(Locale.CANADA).build())).isNotNull();
+
+        assertThat(service.getSubscriberCount()).isEqualTo(2);
+        assertThat(registry.get("greetings.stream.subscribers").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void onEvent_fullBuffer_disconnectsSlowSubscriber() {
+        service.subscribe(GreetingProbe.builder().build());
+
+        service.onEvent(GreetingEvent.created(List.of(CANADIAN)));
+        service.onEvent(GreetingEvent.deleted(List.of(CANADIAN.getId())));
+        service.onEvent(GreetingEvent.created(List.of(AMERICAN)));
+
+        assertThat(service.getSubscriberCount()).isZero();
+        assertThat(registry.get("greetings.stream.disconnects").tag("reason", "slow").counter().count()).isOne();
+    }
+
+    @Test
+    void onEvent_otherLocale_isFiltered() {
+        service.subscribe(GreetingProbe.builder().locale(Locale.CANADA).build());
+
+        service.onEvent(GreetingEvent.created(List.of(CANADIAN)));
+        service.onEvent(GreetingEvent.created(List.of(AMERICAN, AMERICAN)));
+
+        assertThat(service.getSubscriberCount()).isOne();
+
+        service.onEvent(GreetingEvent.created(List.of(CANADIAN)));
+
+        assertThat(service.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void heartbeat_fullBuffer_disconnectsSlowSubscriber() {
+        service.subscribe(GreetingProbe.builder().build());
+
+        service.heartbeat();
+        assertThat(service.getSubscriberCount()).isOne();
+
+        service.heartbeat();
+        assertThat(service.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void heartbeat_completedEmitter_disconnectsOnError() throws InterruptedException {
+        final SseEmitter emitter = service.subscribe(GreetingProbe.builder().build());
+        emitter.complete();
+        release.countDown();
+
+        service.heartbeat();
+
+        for (int i = 0; i < 100 && service.getSubscriberCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(service.getSubscriberCount()).isZero();
+        assertThat(registry.get("greetings.stream.disconnects").tag("reason", "error").counter().count()).isOne();
+    }
+}
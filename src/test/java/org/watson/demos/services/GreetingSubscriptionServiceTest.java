@@ -0,0 +1,97 @@
+package org.watson.demos.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.watson.demos.events.GreetingEvent;
+import org.watson.demos.models.Greeting;
+import org.watson.demos.models.GreetingProbe;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.watson.demos.utilities.GeneratorTestUtility.generateGreetings;
+
+class GreetingSubscriptionServiceTest {
+    private static final List<Greeting> TEST_CONTENT = generateGreetings("subscription");
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void created_filtersByLocale() {
+        final GreetingSubscriptionService service = new GreetingSubscriptionService(registry, 100, GreetingSubscriptionService.OverflowPolicy.DROP);
+        final Locale locale = TEST_CONTENT.get(0).getLocale();
+        final List<Greeting> actual = new ArrayList<>();
+        service.created(GreetingProbe.builder().locale(locale).build()).subscribe(actual::add);
+
+        service.onEvent(GreetingEvent.created(TEST_CONTENT));
+
+        assertThat(actual).isNotEmpty().allMatch(g -> locale.equals(g.getLocale()));
+    }
+
+    @Test
+    void deleted_emitsIdsPerEvent() {
+        final GreetingSubscriptionService service = new GreetingSubscriptionService(registry, 100, GreetingSubscriptionService.OverflowPolicy.DROP);
+        final List<List<UUID>> actual = new ArrayList<>();
+        service.deleted().subscribe(actual::add);
+        final List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        service.onEvent(GreetingEvent.created(TEST_CONTENT));
+        service.onEvent(GreetingEvent.deleted(ids));
+
+        assertThat(actual).containsExactly(ids);
+    }
+
+    @Test
+    void created_dropPolicy_keepsNewestEvents() {
+        final GreetingSubscriptionService service = new GreetingSubscriptionService(registry, 2, GreetingSubscriptionService.OverflowPolicy.DROP);
+        final SlowSubscriber subscriber = new SlowSubscriber();
+        service.created(GreetingProbe.builder().build()).subscribe(subscriber);
+
+        service.onEvent(GreetingEvent.created(TEST_CONTENT));
+        subscriber.request(TEST_CONTENT.size());
+
+        assertThat(subscriber.received).containsExactlyElementsOf(TEST_CONTENT.subList(TEST_CONTENT.size() - 2, TEST_CONTENT.size()));
+        assertThat(subscriber.error).isNull();
+        assertThat(registry.get("graphql.greetings.subscription.overflow").tag("policy", "DROP").counter().count())
+                .isEqualTo(TEST_CONTENT.size() - 2);
+    }
+
+    @Test
+    void created_disconnectPolicy_errorsSubscriber() {
+        final GreetingSubscriptionService service = new GreetingSubscriptionService(registry, 2, GreetingSubscriptionService.OverflowPolicy.DISCONNECT);
+        final SlowSubscriber subscriber = new SlowSubscriber();
+        service.created(GreetingProbe.builder().build()).subscribe(subscriber);
+
+        service.onEvent(GreetingEvent.created(TEST_CONTENT));
+        subscriber.request(TEST_CONTENT.size());
+
+        assertThat(subscriber.error).isNotNull();
+        assertThat(registry.get("graphql.greetings.subscription.overflow").tag("policy", "DISCONNECT").counter().count()).isOne();
+    }
+
+    private static class SlowSubscriber extends BaseSubscriber<Greeting> {
+        private final List<Greeting> received = new ArrayList<>();
+        private Throwable error;
+
+        @Override
+        protected void hookOnSubscribe(final Subscription subscription) {
+            // Request nothing until the test says so.
+        }
+
+        @Override
+        protected void hookOnNext(final Greeting value) {
+            received.add(value);
+        }
+
+        @Override
+        protected void hookOnError(final Throwable throwable) {
+            error = throwable;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.watson.demos.validation.validators;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.watson.demos.models.Greeting;
+import org.watson.demos.validation.constraints.ValidElements;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.watson.demos.utilities.GeneratorTestUtility.generateGreetings;
+
+class ElementsValidatorTest {
+    private static final String SEQUENTIAL = "server.validation.bulk.parallel.threshold=" + Integer.MAX_VALUE;
+    private static final String PARALLEL = "server.validation.bulk.parallel.threshold=1";
+    private static final Set<Integer> INVALID_INDEXES = Set.of(1, 4, 7);
+    private static final List<Greeting> VALID = generateGreetings("bulk");
+    private static final List<Greeting> INPUT = IntStream.range(0, VALID.size()).boxed()
+            .map(i -> INVALID_INDEXES.contains(i) ? Greeting.builder().content(" ".repeat(i)).build() : VALID.get(i))
+            .collect(Collectors.toUnmodifiableList());
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withBean(SimpleMeterRegistry.class)
+            .withBean(BulkValidationPool.class);
+
+    @ValueSource(strings = {SEQUENTIAL, PARALLEL})
+    @ParameterizedTest
+    void isValid_validElements_noViolations(final String mode) {
+        contextRunner.withPropertyValues(mode)
+                .run(context -> assertThat(context.getBean(Validator.class).validate(new Bulk(VALID))).isEmpty());
+    }
+
+    @NullAndEmptySource
+    @ParameterizedTest
+    void isValid_nullAndEmpty_noViolations(final List<Greeting> input) {
+        contextRunner.run(context -> assertThat(context.getBean(Validator.class).validate(new Bulk(input))).isEmpty());
+    }
+
+    @ValueSource(strings = {SEQUENTIAL, PARALLEL})
+    @ParameterizedTest
+    void isValid_invalidElements_reportsEveryElementPath(final String mode) {
+        contextRunner.withPropertyValues(mode)
+                .run(context -> assertThat(toPaths(context.getBean(Validator.class).validate(new Bulk(INPUT))))
+                        .containsExactlyInAnyOrder("greetings[1].content", "greetings[4].content", "greetings[7].content"));
+    }
+
+    @ValueSource(strings = {SEQUENTIAL, PARALLEL})
+    @ParameterizedTest
+    void isValid_maxViolations_stopsAfterFirstViolations(final String mode) {
+        contextRunner.withPropertyValues(mode, "server.validation.bulk.max-violations=2")
+                .run(context -> assertThat(toPaths(context.getBean(Validator.class).validate(new Bulk(INPUT))))
+                        .containsExactlyInAnyOrder("greetings[1].content", "greetings[4].content"));
+    }
+
+    @ValueSource(strings = {SEQUENTIAL, PARALLEL})
+    @ParameterizedTest
+    void isValid_unindexedCollection_reportsIterablePath(final String mode) {
+        contextRunner.withPropertyValues(mode)
+                .run(context -> assertThat(toPaths(context.getBean(Validator.class).validate(new Bulk(new LinkedHashSet<>(INPUT)))))
+                        .isNotEmpty()
+                        .allMatch("greetings[].content"::equals));
+    }
+
+    @ValueSource(strings = {SEQUENTIAL, PARALLEL})
+    @ParameterizedTest
+    void isValid_reportsElementMessage(final String mode) {
+        contextRunner.withPropertyValues(mode)
+                .run(context -> assertThat(context.getBean(Validator.class).validate(new Bulk(INPUT)))
+                        .extracting(ConstraintViolation::getMessage)
+                        .containsOnly("must not be blank"));
+    }
+
+    @ValueSource(strings = {SEQUENTIAL, PARALLEL})
+    @ParameterizedTest
+    void isValid_reportsElementMessageInCallerLocale(final String mode) {
+        contextRunner.withPropertyValues(mode)
+                .run(context -> {
+                    LocaleContextHolder.setLocale(Locale.FRENCH);
+                    try {
+                        assertThat(context.getBean(Validator.class).validate(new Bulk(INPUT)))
+                                .extracting(ConstraintViolation::getMessage)
+                                .containsOnly("ne doit pas être vide");
+                    } finally {
+                        LocaleContextHolder.resetLocaleContext();
+                    }
+                });
+    }
+
+    @Test
+    void isValid_parallel_usesSharedMonitoredPool() {
+        contextRunner.withPropertyValues(PARALLEL, "server.validation.bulk.parallel.parallelism=2")
+                .run(context -> {
+                    final Validator validator = context.getBean(Validator.class);
+                    validator.validate(new Bulk(INPUT));
+                    validator.validate(new Other(INPUT));
+
+                    assertThat(context.getBean(BulkValidationPool.class).getParallelism()).isEqualTo(2);
+                    assertThat(context.getBean(MeterRegistry.class).get("executor.queued")
+                            .tag("name", BulkValidationPool.NAME)
+                            .gauges())
+                            .singleElement();
+                });
+    }
+
+    private static List<String> toPaths(final Set<ConstraintViolation<Bulk>> violations) {
+        return violations.stream()
+                .map(ConstraintViolation::getPropertyPath)
+                .map(String::valueOf)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @lombok.Value
+    static class Bulk {
+        @ValidElements
+        Collection<Greeting> greetings;
+    }
+
+    @lombok.Value
+    static class Other {
+        @ValidElements
+        List<Greeting> others;
+    }
+}